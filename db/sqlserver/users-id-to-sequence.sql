@@ -0,0 +1,61 @@
+-- Moves users.id from IDENTITY to the pooled users_seq sequence (SQL Server).
+--
+-- User ids are generated from users_seq with an allocation size of 50, which
+-- spring.jpa.hibernate.ddl-auto=update cannot migrate to: it neither drops the
+-- IDENTITY property of an existing users.id column nor starts the sequence above
+-- the existing ids. Run this once against each existing database, with the
+-- service stopped, before deploying the release that uses users_seq; that
+-- release refuses to start while users.id is still an identity column.
+--
+-- Re-running it is a no-op once users.id is no longer an identity column.
+
+SET XACT_ABORT ON;
+BEGIN TRANSACTION;
+
+IF COLUMNPROPERTY(OBJECT_ID(N'dbo.users'), N'id', N'IsIdentity') = 1
+BEGIN
+    DECLARE @sql NVARCHAR(MAX);
+    DECLARE @pk SYSNAME = (SELECT name FROM sys.key_constraints
+                           WHERE parent_object_id = OBJECT_ID(N'dbo.users') AND type = 'PK');
+    DECLARE @foreignKeys TABLE (name SYSNAME, parent_table NVARCHAR(300), parent_column SYSNAME);
+
+    -- Foreign keys to users.id (the legacy user_roles table); dropped with the key and recreated below
+    INSERT INTO @foreignKeys (name, parent_table, parent_column)
+    SELECT fk.name,
+           QUOTENAME(OBJECT_SCHEMA_NAME(fk.parent_object_id)) + N'.' + QUOTENAME(OBJECT_NAME(fk.parent_object_id)),
+           COL_NAME(fkc.parent_object_id, fkc.parent_column_id)
+    FROM sys.foreign_keys fk
+    JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+    WHERE fk.referenced_object_id = OBJECT_ID(N'dbo.users');
+
+    SELECT @sql = STRING_AGG(N'ALTER TABLE ' + parent_table + N' DROP CONSTRAINT ' + QUOTENAME(name), N'; ')
+    FROM @foreignKeys;
+    IF @sql IS NOT NULL EXEC (@sql);
+    EXEC (N'ALTER TABLE dbo.users DROP CONSTRAINT ' + QUOTENAME(@pk));
+
+    -- IDENTITY cannot be dropped from a column, so copy the ids into a plain column that replaces it
+    EXEC (N'ALTER TABLE dbo.users ADD id_seq BIGINT NULL');
+    EXEC (N'UPDATE dbo.users SET id_seq = id');
+    EXEC (N'ALTER TABLE dbo.users ALTER COLUMN id_seq BIGINT NOT NULL');
+    EXEC (N'ALTER TABLE dbo.users DROP COLUMN id');
+    EXEC sp_rename N'dbo.users.id_seq', N'id', N'COLUMN';
+    EXEC (N'ALTER TABLE dbo.users ADD CONSTRAINT ' + QUOTENAME(@pk) + N' PRIMARY KEY (id)');
+
+    SELECT @sql = STRING_AGG(N'ALTER TABLE ' + parent_table + N' ADD CONSTRAINT ' + QUOTENAME(name)
+                             + N' FOREIGN KEY (' + QUOTENAME(parent_column) + N') REFERENCES dbo.users (id)', N'; ')
+    FROM @foreignKeys;
+    IF @sql IS NOT NULL EXEC (@sql);
+
+    -- A failed startup of the new release may already have created the sequence at 1
+    IF OBJECT_ID(N'dbo.users_seq', N'SO') IS NOT NULL
+        DROP SEQUENCE dbo.users_seq;
+
+    -- The pooled optimizer hands out the 50 ids up to each value it reads,
+    -- so the first value must be 50 above the highest existing id
+    DECLARE @start BIGINT;
+    EXEC sp_executesql N'SELECT @max = ISNULL(MAX(id), 0) + 50 FROM dbo.users', N'@max BIGINT OUTPUT',
+        @max = @start OUTPUT;
+    EXEC (N'CREATE SEQUENCE dbo.users_seq START WITH ' + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 50');
+END;
+
+COMMIT TRANSACTION;
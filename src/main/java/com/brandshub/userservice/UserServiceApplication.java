@@ -2,7 +2,7 @@ package com.brandshub.userservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Brands Hub User Service.
@@ -20,7 +20,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  * @since 2024-01-01
  */
 @SpringBootApplication
-@EnableJpaAuditing // Enable JPA auditing for created/updated timestamps
+@EnableScheduling // Enable scheduled maintenance tasks such as signing key rotation
 public class UserServiceApplication {
 
     /**
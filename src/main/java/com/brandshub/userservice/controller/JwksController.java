@@ -0,0 +1,38 @@
+package com.brandshub.userservice.controller;
+
+import com.brandshub.userservice.security.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * REST controller publishing the JWT verification keys as a JSON Web Key Set.
+ *
+ * @author Brands Hub Team
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Token Keys", description = "Public keys for verifying tokens issued by this service")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @Value("${jwt.keys.jwks-max-age:PT15M}")
+    private Duration jwksMaxAge;
+
+    @Operation(summary = "Get the JSON Web Key Set used to sign access tokens")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwksMaxAge).cachePublic())
+                .body(Map.of("keys", keyRing.publicJwks()));
+    }
+}
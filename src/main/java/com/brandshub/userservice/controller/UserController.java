@@ -2,17 +2,34 @@ package com.brandshub.userservice.controller;
 
 import com.brandshub.userservice.dto.*;
 import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.PreconditionFailedException;
+import com.brandshub.userservice.exception.PreconditionRequiredException;
+import com.brandshub.userservice.security.AuthenticatedUser;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserBulkService;
+import com.brandshub.userservice.service.UserExportService;
+import com.brandshub.userservice.service.UserImportService;
 import com.brandshub.userservice.service.UserService;
+import com.brandshub.userservice.service.UserStatistics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for user management operations.
@@ -25,7 +42,14 @@ import java.util.List;
 @Tag(name = "User Management", description = "APIs for user registration, authentication, and profile management")
 public class UserController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserBulkService userBulkService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserStatistics userStatistics;
 
     @Operation(summary = "Register a new user")
     @PostMapping("/register")
@@ -34,35 +58,120 @@ public class UserController {
         return new ResponseEntity<>(user, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Check whether a username and email are still available")
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email,
+                                                                  HttpServletRequest httpRequest) {
+        AvailabilityResponse availability = userAvailabilityService.check(username, email, httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(availability);
+    }
+
     @Operation(summary = "User login and JWT token generation")
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = userService.login(request);
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // The client address; Tomcat resolves it from X-Forwarded-For when a trusted proxy sent the request
+        LoginResponse response = userService.login(request, httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Exchange a refresh token for a new access token")
+    @PostMapping("/token/refresh")
+    public ResponseEntity<LoginResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse response = userService.refreshToken(request);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Log out by revoking the current access token")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser principal) {
+        userService.logout(principal.getTokenId(), principal.getId(), principal.getExpiresAt());
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Get user by ID")
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == principal.id")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         UserResponse user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(eTag(user)).body(user);
     }
 
     @Operation(summary = "Get all users (admin only)")
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int size,
+                                                                @RequestParam(required = false) String fields) {
+        CursorPage<UserResponse> users = userService.getAllUsers(cursor, size, UserField.parse(fields));
+        return ResponseEntity.ok(users);
+    }
+
+    @Operation(summary = "Get users holding a role (admin only)")
+    @GetMapping("/role/{role}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersByRole(@PathVariable String role,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int size,
+                                                                   @RequestParam(required = false) String fields) {
+        CursorPage<UserResponse> users = userService.getUsersByRole(role, cursor, size, UserField.parse(fields));
         return ResponseEntity.ok(users);
     }
 
+    @Operation(summary = "Export all users as NDJSON or CSV (admin only)")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") UserExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        // Rows are written from the async executor as they are read, not buffered per request
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                userExportService.exportUsers(format, compressed);
+                compressed.finish();
+            } else {
+                userExportService.exportUsers(format, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.getExtension())
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @Operation(summary = "Import users from an NDJSON or CSV body (admin only)")
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResult> importUsers(
+            @RequestParam(defaultValue = "NDJSON") UserExportService.Format format,
+            InputStream body) throws IOException {
+        // The body is read as a stream and imported chunk by chunk, never buffered whole
+        return ResponseEntity.ok(userImportService.importUsers(format, body));
+    }
+
     @Operation(summary = "Update user profile")
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == principal.id")
     public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UserRegistrationRequest request) {
         UserResponse user = userService.updateUser(id, request);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(eTag(user)).body(user);
+    }
+
+    @Operation(summary = "Partially update user profile with a JSON merge patch; requires If-Match")
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or #id == principal.id")
+    public ResponseEntity<UserResponse> patchUser(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @Valid @RequestBody UserPatchRequest patch) {
+        UserResponse user = userService.patchUser(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(user)).body(user);
     }
 
     @Operation(summary = "Delete user (admin only)")
@@ -73,19 +182,38 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Revoke all tokens of a user (admin only)")
+    @PostMapping("/{id}/tokens/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Get user counts by type, status and role (admin only)")
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserStatsResponse> getUserStats() {
+        return ResponseEntity.ok(userStatistics.getStats());
+    }
+
     @Operation(summary = "Search users by name")
     @GetMapping("/search/name")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> searchUsersByName(@RequestParam String name) {
-        List<UserResponse> users = userService.searchUsersByName(name);
+    public ResponseEntity<List<UserResponse>> searchUsersByName(@RequestParam String name,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                @RequestParam(required = false) String fields) {
+        List<UserResponse> users = userService.searchUsersByName(name, limit, UserField.parse(fields));
         return ResponseEntity.ok(users);
     }
 
     @Operation(summary = "Search users by company name")
     @GetMapping("/search/company")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> searchUsersByCompany(@RequestParam String company) {
-        List<UserResponse> users = userService.searchUsersByCompany(company);
+    public ResponseEntity<List<UserResponse>> searchUsersByCompany(@RequestParam String company,
+                                                                   @RequestParam(defaultValue = "20") int limit,
+                                                                   @RequestParam(required = false) String fields) {
+        List<UserResponse> users = userService.searchUsersByCompany(company, limit, UserField.parse(fields));
         return ResponseEntity.ok(users);
     }
 
@@ -112,4 +240,54 @@ public class UserController {
         UserResponse user = userService.removeRoleFromUser(id, role);
         return ResponseEntity.ok(user);
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Update the status of every user matching a filter (admin only)")
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUpdateResponse> updateStatusInBulk(@RequestParam User.UserStatus status,
+                                                                 @Valid @RequestBody UserFilter filter) {
+        long updated = userBulkService.updateStatus(filter, status);
+        return ResponseEntity.ok(BulkUpdateResponse.builder().updated(updated).build());
+    }
+
+    @Operation(summary = "Add a role to every user matching a filter (admin only)")
+    @PostMapping("/bulk/roles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUpdateResponse> addRoleInBulk(@RequestParam String role,
+                                                            @Valid @RequestBody UserFilter filter) {
+        long updated = userBulkService.addRole(filter, role);
+        return ResponseEntity.ok(BulkUpdateResponse.builder().updated(updated).build());
+    }
+
+    @Operation(summary = "Remove a role from every user matching a filter (admin only)")
+    @DeleteMapping("/bulk/roles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUpdateResponse> removeRoleInBulk(@RequestParam String role,
+                                                               @Valid @RequestBody UserFilter filter) {
+        long updated = userBulkService.removeRole(filter, role);
+        return ResponseEntity.ok(BulkUpdateResponse.builder().updated(updated).build());
+    }
+
+    private static String eTag(UserResponse user) {
+        return "\"" + user.getVersion() + "\"";
+    }
+
+    // Strong comparison only, as If-Match requires; "*" accepts any current version
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("If-Match header with the user's ETag is required");
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // Falls through to the mismatch below
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version");
+    }
+}
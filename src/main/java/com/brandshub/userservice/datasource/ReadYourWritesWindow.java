@@ -0,0 +1,67 @@
+package com.brandshub.userservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which sessions committed a write recently, so their reads can
+ * stay on the primary until the replica has caught up with the write.
+ *
+ * <p>A session is the authenticated principal; anonymous requests and
+ * background jobs have none and are never pinned. The window is per node, so
+ * it only covers a session whose next request reaches the same node.</p>
+ *
+ * @author Brands Hub Team
+ */
+public class ReadYourWritesWindow {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Open the window for the current session once the current transaction commits.
+     */
+    public void trackCurrentTransaction() {
+        String session = currentSession();
+        if (session == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(session, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Whether the current session committed a write within the window.
+     *
+     * @return true if reads of the current session should use the primary
+     */
+    public boolean isOpenForCurrentSession() {
+        String session = currentSession();
+        return session != null && recentWriters.getIfPresent(session) != null;
+    }
+
+    private static String currentSession() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
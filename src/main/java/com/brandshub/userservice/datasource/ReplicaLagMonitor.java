@@ -0,0 +1,147 @@
+package com.brandshub.userservice.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides whether the read replica is current enough to serve reads.
+ *
+ * <p>Every check first reads this node's heartbeat back from the replica,
+ * then writes a new one to the primary. If the replica has the heartbeat of
+ * the previous check it is considered caught up; otherwise its lag is the age
+ * of the heartbeat it does have. The lag is therefore measured to within one
+ * check interval and errs on the high side.</p>
+ *
+ * <p>The replica is unusable until the first check succeeds, while its lag
+ * exceeds {@code user.datasource.replica.max-lag}, after a failed check, and
+ * when checks stop running. The last measured lag is published as
+ * {@code user.datasource.replica.lag}.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String READ_SQL = "SELECT beat_at FROM replica_heartbeats WHERE node_id = ?";
+    private static final String UPDATE_SQL = "UPDATE replica_heartbeats SET beat_at = ? WHERE node_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO replica_heartbeats (node_id, beat_at) VALUES (?, ?)";
+    private static final String PURGE_SQL = "DELETE FROM replica_heartbeats WHERE beat_at < ?";
+    // Rows of nodes that stopped a day ago are only clutter
+    private static final Duration STOPPED_NODE_RETENTION = Duration.ofDays(1);
+    // Missed checks after which the last verdict is no longer trusted
+    private static final int MAX_MISSED_CHECKS = 3;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Guards lastWritten across the heartbeat round trip
+    private final ReentrantLock checkLock = new ReentrantLock();
+
+    private LocalDateTime lastWritten;
+    private volatile Duration lag;
+    private volatile boolean usable;
+    private volatile LocalDateTime checkedAt;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration checkInterval,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        Gauge.builder("user.datasource.replica.lag", this, m -> m.lag == null ? Double.NaN : m.lag.toMillis() / 1000.0)
+                .description("Replication lag of the read replica, to within one check interval")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether read-only transactions may use the replica right now.
+     *
+     * @return true if the last check found the replica within the allowed lag
+     */
+    public boolean isReplicaUsable() {
+        LocalDateTime last = checkedAt;
+        return usable && last != null
+                && last.plus(checkInterval.multipliedBy(MAX_MISSED_CHECKS)).isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Measure the replica's lag and write the next heartbeat.
+     */
+    @Scheduled(fixedDelayString = "${user.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        checkLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            Duration measured = measure(now);
+            lag = measured;
+            boolean wasUsable = usable;
+            usable = measured != null && measured.compareTo(maxLag) <= 0;
+            checkedAt = now;
+            if (wasUsable != usable) {
+                log.info("Read replica {} (lag {})", usable ? "in use" : "bypassed", measured);
+            }
+            beat(now);
+        } finally {
+            checkLock.unlock();
+        }
+    }
+
+    /**
+     * Delete the heartbeats of nodes that have stopped.
+     */
+    @Scheduled(fixedDelayString = "PT1H")
+    public void purge() {
+        try {
+            primary.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(STOPPED_NODE_RETENTION)));
+        } catch (DataAccessException ex) {
+            log.warn("Purging replica heartbeats failed: {}", ex.getMessage());
+        }
+    }
+
+    // Null when the lag cannot be told, which keeps reads on the primary
+    private Duration measure(LocalDateTime now) {
+        if (lastWritten == null) {
+            return null;
+        }
+        LocalDateTime seen;
+        try {
+            seen = replica.queryForObject(READ_SQL, (rs, rowNum) -> rs.getTimestamp(1).toLocalDateTime(), nodeId);
+        } catch (EmptyResultDataAccessException ex) {
+            // Not even the first heartbeat has arrived
+            return null;
+        } catch (DataAccessException ex) {
+            log.warn("Reading the replica heartbeat failed: {}", ex.getMessage());
+            return null;
+        }
+        return seen.isBefore(lastWritten) ? Duration.between(seen, now) : Duration.ZERO;
+    }
+
+    private void beat(LocalDateTime now) {
+        try {
+            Timestamp beatAt = Timestamp.valueOf(now);
+            if (primary.update(UPDATE_SQL, beatAt, nodeId) == 0) {
+                primary.update(INSERT_SQL, nodeId, beatAt);
+            }
+            lastWritten = now;
+        } catch (DataAccessException ex) {
+            // The previous heartbeat stays the reference, so the next check still measures against it
+            log.warn("Writing the replica heartbeat failed: {}", ex.getMessage());
+        }
+    }
+}
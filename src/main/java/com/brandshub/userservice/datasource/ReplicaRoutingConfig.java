@@ -0,0 +1,82 @@
+package com.brandshub.userservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Data source configuration sending read-only transactions to a read replica.
+ *
+ * <p>Active when {@code user.datasource.replica.enabled} is true. The primary
+ * pool is built from the usual {@code spring.datasource} properties and the
+ * replica pool from {@code user.datasource.replica}, each with its own
+ * {@code hikari} settings, so reads no longer take connections that logins
+ * and writes need. JPA, JDBC templates and the transaction manager all use
+ * the routing data source.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("user.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("user.datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("user.datasource.replica.url must be set"));
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${user.datasource.replica.max-lag:PT5S}") Duration maxLag,
+                                               @Value("${user.datasource.replica.lag-check-interval:PT1S}") Duration checkInterval,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, maxLag, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${user.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesWindow(window);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor,
+                                 ReadYourWritesWindow readYourWrites,
+                                 MeterRegistry meterRegistry) {
+        // Defers the routing decision until the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites, meterRegistry));
+    }
+}
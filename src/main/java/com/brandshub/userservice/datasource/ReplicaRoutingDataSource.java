@@ -0,0 +1,80 @@
+package com.brandshub.userservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the read replica and everything else to
+ * the primary.
+ *
+ * <p>A read-only transaction stays on the primary if its session wrote within
+ * the {@link ReadYourWritesWindow} or the {@link ReplicaLagMonitor} finds the
+ * replica too far behind. Work outside a transaction always uses the primary.
+ * The routing reads the transaction's read-only flag, which is only set after
+ * the transaction manager has asked for a connection, so this data source
+ * must sit behind a {@code LazyConnectionDataSourceProxy}.</p>
+ *
+ * <p>Connections handed out are counted by {@code user.datasource.connections}
+ * with a {@code target} tag.</p>
+ *
+ * @author Brands Hub Team
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * The database a connection is taken from.
+     */
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesWindow readYourWrites;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesWindow readYourWrites, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = connectionCounter(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connectionCounter(meterRegistry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.REPLICA ? replicaConnections : primaryConnections).increment();
+        return target;
+    }
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.trackCurrentTransaction();
+            }
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.isOpenForCurrentSession() || !lagMonitor.isReplicaUsable()) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("user.datasource.connections")
+                .description("Connections handed out by the routing data source")
+                .tag("target", target.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+}
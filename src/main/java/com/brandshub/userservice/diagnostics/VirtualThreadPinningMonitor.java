@@ -0,0 +1,115 @@
+package com.brandshub.userservice.diagnostics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records virtual threads pinned to their carrier thread.
+ *
+ * <p>A virtual thread that blocks inside a {@code synchronized} block or a
+ * native call cannot unmount, so it keeps its carrier busy and, once all
+ * carriers are held, stalls every other virtual thread. The JVM reports each
+ * such block lasting longer than {@code threshold} as a
+ * {@code jdk.VirtualThreadPinned} JFR event. This monitor streams those events
+ * in-process and times them as {@code jvm.threads.virtual.pinned}. The first
+ * event from each pinning site, the innermost frame outside the JDK, is
+ * logged with its stack trace.</p>
+ *
+ * <p>Active when {@code user.virtual-threads.pinning-monitor.enabled} is
+ * true. If JFR is unavailable in the runtime the monitor logs a warning and
+ * stays idle.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "user.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+    private static final int MAX_LOGGED_FRAMES = 20;
+    private static final int MAX_REPORTED_SITES = 1000;
+    // Events are consumed as they arrive; this only bounds the on-disk buffer
+    private static final Duration MAX_BUFFERED_AGE = Duration.ofMinutes(1);
+
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Cache<String, Boolean> reportedSites = Caffeine.newBuilder()
+            .maximumSize(MAX_REPORTED_SITES)
+            .build();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${user.virtual-threads.pinning-monitor.threshold:PT0.02S}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.setMaxAge(MAX_BUFFERED_AGE);
+            recording.onEvent(PINNED_EVENT, this::record);
+            recording.startAsync();
+            stream = recording;
+            log.info("Recording virtual thread pinning longer than {}", threshold);
+        } catch (IllegalStateException | SecurityException ex) {
+            log.warn("Virtual thread pinning is not recorded, JFR is unavailable: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> JDK_PACKAGES.stream().noneMatch(frame::startsWith))
+                .findFirst()
+                .orElse("unknown");
+        if (reportedSites.asMap().putIfAbsent(site, Boolean.TRUE) == null) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream()
+                            .limit(MAX_LOGGED_FRAMES)
+                            .map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
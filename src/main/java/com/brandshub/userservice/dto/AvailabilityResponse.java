@@ -0,0 +1,28 @@
+package com.brandshub.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a username and email availability check.
+ * 
+ * <p>Only the identifiers that were asked about are present. Availability is
+ * advisory: registration still enforces uniqueness.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponse {
+
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+}
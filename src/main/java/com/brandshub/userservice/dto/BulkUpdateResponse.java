@@ -0,0 +1,23 @@
+package com.brandshub.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of a bulk user update.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+
+    /** Users that matched the filter and were changed; users already in the target state are not counted. */
+    private long updated;
+}
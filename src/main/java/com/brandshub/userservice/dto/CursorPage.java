@@ -0,0 +1,28 @@
+package com.brandshub.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated listing.
+ * 
+ * <p>Pass {@code nextCursor} back as the {@code cursor} parameter to read the
+ * following page. It is null on the last page.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+}
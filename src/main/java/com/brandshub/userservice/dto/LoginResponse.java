@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 /**
  * Data Transfer Object for user login responses.
  * 
- * <p>Contains JWT token and user information after successful authentication.</p>
+ * <p>Contains the short-lived JWT access token, the refresh token used to renew
+ * it, and user information after successful authentication.</p>
  * 
  * @author Brands Hub Team
  * @version 1.0.0
@@ -21,7 +22,9 @@ import lombok.NoArgsConstructor;
 public class LoginResponse {
 
     private String token;
+    @Builder.Default
     private String tokenType = "Bearer";
     private Long expiresIn;
+    private String refreshToken;
     private UserResponse user;
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.brandshub.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A {@link UserResponse} holding only the fields selected with the
+ * {@code fields} parameter.
+ *
+ * <p>Fields that were not selected are null and left out of the JSON, while
+ * a full {@link UserResponse} keeps its null fields as explicit nulls.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparseUserResponse extends UserResponse {
+}
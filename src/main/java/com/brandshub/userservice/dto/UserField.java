@@ -0,0 +1,82 @@
+package com.brandshub.userservice.dto;
+
+import com.brandshub.userservice.exception.InvalidRequestException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields of {@link UserResponse} that a client can select with the {@code fields} parameter.
+ *
+ * <p>Each field names the entity attributes it is read from, so a sparse
+ * request selects only those columns.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public enum UserField {
+
+    ID("id", "id"),
+    USERNAME("username", "username"),
+    EMAIL("email", "email"),
+    FIRST_NAME("firstName", "firstName"),
+    LAST_NAME("lastName", "lastName"),
+    FULL_NAME("fullName", "firstName", "lastName"),
+    COMPANY_NAME("companyName", "companyName"),
+    PHONE_NUMBER("phoneNumber", "phoneNumber"),
+    USER_TYPE("userType", "userType"),
+    STATUS("status", "status"),
+    ROLES("roles", "roles"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    LAST_LOGIN("lastLogin", "lastLogin");
+
+    private final String property;
+    private final List<String> attributes;
+
+    UserField(String property, String... attributes) {
+        this.property = property;
+        this.attributes = List.of(attributes);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Parse a comma-separated list of response property names.
+     *
+     * @param fields the requested properties, e.g. {@code id,username,companyName}
+     * @return the selected fields, always including {@link #ID}, or null to return every field
+     * @throws InvalidRequestException if a property name is unknown
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        // The id is the pagination key, so it is always selected
+        Set<UserField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(of(trimmed));
+            }
+        }
+        return selected;
+    }
+
+    private static UserField of(String property) {
+        for (UserField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidRequestException("Unknown field: " + property);
+    }
+}
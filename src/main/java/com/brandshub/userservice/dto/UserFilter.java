@@ -0,0 +1,50 @@
+package com.brandshub.userservice.dto;
+
+import com.brandshub.userservice.entity.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object selecting the users a bulk operation applies to.
+ * 
+ * <p>Every criterion that is set must match; unset criteria match all users.
+ * At least one criterion must be set.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFilter {
+
+    private String companyName;
+
+    private User.UserType userType;
+
+    private User.UserStatus status;
+
+    /** Inclusive lower bound of the creation time. */
+    private LocalDateTime createdFrom;
+
+    /** Exclusive upper bound of the creation time. */
+    private LocalDateTime createdTo;
+
+    @Size(max = 1000, message = "At most 1000 user IDs can be listed")
+    private List<Long> ids;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return companyName == null && userType == null && status == null
+                && createdFrom == null && createdTo == null && (ids == null || ids.isEmpty());
+    }
+}
@@ -0,0 +1,45 @@
+package com.brandshub.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarising a bulk user import.
+ * 
+ * <p>Rows that fail are reported individually and do not stop the import;
+ * every other row is imported.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+
+    private long total;
+    private long imported;
+    private long failed;
+    private List<RowError> errors;
+
+    /**
+     * A rejected row.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /** Line of the body the row starts on, counting from 1. */
+        private long line;
+        private String username;
+        private String message;
+    }
+}
@@ -0,0 +1,58 @@
+package com.brandshub.userservice.dto;
+
+import com.brandshub.userservice.entity.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one row of a bulk user import.
+ * 
+ * <p>Each row carries either a plain {@code password}, which is hashed on
+ * import, or a {@code passwordHash} already in the service's {@code {id}hash}
+ * format, which is stored as is. Imported hashes with an outdated algorithm or
+ * cost are upgraded on the user's next login.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+
+    @NotBlank(message = "Username is required")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @Size(min = 8, message = "Password must be at least 8 characters long")
+    private String password;
+
+    private String passwordHash;
+
+    @NotBlank(message = "First name is required")
+    @Size(max = 50, message = "First name must not exceed 50 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(max = 50, message = "Last name must not exceed 50 characters")
+    private String lastName;
+
+    @Size(max = 100, message = "Company name must not exceed 100 characters")
+    private String companyName;
+
+    @Size(max = 20, message = "Phone number must not exceed 20 characters")
+    private String phoneNumber;
+
+    private User.UserType userType;
+}
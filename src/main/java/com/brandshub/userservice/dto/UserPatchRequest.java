@@ -0,0 +1,46 @@
+package com.brandshub.userservice.dto;
+
+import com.brandshub.userservice.entity.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Data Transfer Object for a JSON merge patch (RFC 7396) of a user profile.
+ * 
+ * <p>A field left out of the document is left unchanged and is null here. A
+ * field set to {@code null} is an empty Optional and clears the value, which
+ * only the optional profile fields allow. The username cannot be changed.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPatchRequest {
+
+    private Optional<@NotBlank(message = "Email is required") @Email(message = "Email should be valid") String> email;
+
+    private Optional<@Size(min = 8, message = "Password must be at least 8 characters long") String> password;
+
+    private Optional<@NotBlank(message = "First name is required")
+            @Size(max = 50, message = "First name must not exceed 50 characters") String> firstName;
+
+    private Optional<@NotBlank(message = "Last name is required")
+            @Size(max = 50, message = "Last name must not exceed 50 characters") String> lastName;
+
+    private Optional<@Size(max = 100, message = "Company name must not exceed 100 characters") String> companyName;
+
+    private Optional<@Size(max = 20, message = "Phone number must not exceed 20 characters") String> phoneNumber;
+
+    private Optional<User.UserType> userType;
+}
@@ -39,4 +39,32 @@ public class UserResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime lastLogin;
-} 
\ No newline at end of file
+    // Current optimistic-lock version, also sent as the ETag
+    private Long version;
+
+    /**
+     * Map a user entity to its API representation.
+     * 
+     * @param user the user entity
+     * @return the response DTO, without the password hash
+     */
+    public static UserResponse from(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .fullName(user.getFullName())
+                .companyName(user.getCompanyName())
+                .phoneNumber(user.getPhoneNumber())
+                .userType(user.getUserType())
+                .status(user.getStatus())
+                .roles(user.getRoles())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .lastLogin(user.getLastLogin())
+                .version(user.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.brandshub.userservice.dto;
+
+import com.brandshub.userservice.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for user counts by type, status and role.
+ *
+ * <p>A user holding several roles is counted once under each of them, so the
+ * role counts can add up to more than the total.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsResponse {
+
+    private long total;
+    private Map<User.UserType, Long> byType;
+    private Map<User.UserStatus, Long> byStatus;
+    private Map<String, Long> byRole;
+    private List<Segment> segments;
+
+    /** When the counts were last checked against the database; null until the first check. */
+    private LocalDateTime reconciledAt;
+
+    /**
+     * Users of one type in one status.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Segment {
+
+        private User.UserType userType;
+        private User.UserStatus status;
+        private long users;
+        private Map<String, Long> roles;
+    }
+}
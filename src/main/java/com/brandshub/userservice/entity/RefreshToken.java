@@ -0,0 +1,57 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Opaque refresh token issued alongside a short-lived access token.
+ *
+ * <p>Only a SHA-256 hash of the token is stored. Every refresh consumes the
+ * presented token and issues a new one in the same family; presenting a token
+ * that was already consumed is treated as theft and revokes the whole family.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+    @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_token_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Shared by every token descended from the same login
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when the token is exchanged for a new one
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+}
@@ -0,0 +1,33 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat written to the primary database and read back from the replica
+ * to measure how far the replica lags.
+ *
+ * <p>Each node keeps its own row and only compares it with times from its
+ * own clock, so clock drift between nodes does not distort the lag.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "replica_heartbeats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name = "node_id", length = 36)
+    private String nodeId;
+
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+}
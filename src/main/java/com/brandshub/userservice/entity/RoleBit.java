@@ -0,0 +1,32 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Bit position assigned to a role name in the packed {@code users.role_mask} column.
+ *
+ * <p>Assignments are append-only: a bit is never reused for another role, so
+ * masks written by any node stay valid.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "role_bits", indexes = {
+    @Index(name = "idx_role_bit_name", columnList = "name", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleBit {
+
+    @Id
+    @Column(name = "bit_index")
+    private Integer bit;
+
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+}
@@ -0,0 +1,39 @@
+package com.brandshub.userservice.entity;
+
+import com.brandshub.userservice.security.RoleRegistry;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Stores a user's role names as a packed bit mask.
+ *
+ * <p>Hibernate obtains this converter from the Spring context. The registry is
+ * resolved on first use because it depends on the entity manager factory that
+ * is still being built when the converter is created.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Component
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<String>, Long> {
+
+    private final ObjectProvider<RoleRegistry> roleRegistry;
+
+    public RoleSetConverter(ObjectProvider<RoleRegistry> roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(Set<String> roles) {
+        return roles == null ? 0L : roleRegistry.getObject().maskOf(roles);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(Long mask) {
+        return roleRegistry.getObject().rolesOf(mask == null ? 0L : mask);
+    }
+}
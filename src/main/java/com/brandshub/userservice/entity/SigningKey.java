@@ -0,0 +1,53 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asymmetric key pair used to sign JWT access tokens.
+ *
+ * <p>Keys are shared by every replica through the database so that any node
+ * can verify tokens issued by another, and the public halves are published
+ * through the JWKS endpoint. Each key is identified by its {@code kid}.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "jwt_signing_keys", indexes = {
+    @Index(name = "idx_signing_key_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SigningKey {
+
+    @Id
+    @Column(name = "kid", length = 64)
+    private String kid;
+
+    // JWS algorithm identifier, e.g. ES256 or EdDSA
+    @Column(name = "algorithm", nullable = false, length = 16)
+    private String algorithm;
+
+    // JCA key algorithm used to decode the encoded keys, e.g. EC or EdDSA
+    @Column(name = "key_algorithm", nullable = false, length = 16)
+    private String keyAlgorithm;
+
+    // X.509 SubjectPublicKeyInfo encoding
+    @Lob
+    @Column(name = "public_key", nullable = false)
+    private byte[] publicKey;
+
+    // PKCS#8 encoding
+    @Lob
+    @Column(name = "private_key", nullable = false)
+    private byte[] privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -27,27 +29,36 @@ import java.util.Set;
 @Entity
 @Table(name = "users", indexes = {
     @Index(name = "idx_user_email", columnList = "email", unique = true),
-    @Index(name = "idx_user_username", columnList = "username", unique = true)
+    @Index(name = "idx_user_username", columnList = "username", unique = true),
+    @Index(name = "idx_user_status", columnList = "status"),
+    @Index(name = "idx_user_type", columnList = "user_type")
 })
 @EntityListeners(AuditingEntityListener.class)
+// Write only the changed columns, so updates are smaller and touch fewer columns of hot rows
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
 
+    // Pooled sequence: ids are handed out 50 at a time without a round trip per
+    // row, which lets Hibernate batch inserts (it cannot batch IDENTITY inserts)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
-    @Column(unique = true, nullable = false, length = 50)
+    // Uniqueness comes from idx_user_username, whose name identifies the clash on registration
+    @Column(nullable = false, length = 50)
     private String username;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(unique = true, nullable = false, length = 100)
+    // Uniqueness comes from idx_user_email
+    @Column(nullable = false, length = 100)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -81,11 +92,39 @@ public class User {
     @Column(name = "status", nullable = false)
     private UserStatus status = UserStatus.ACTIVE; // Default to active
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Packed into one column through the role registry, so loading a user needs no join
+    @Convert(converter = RoleSetConverter.class)
+    @Column(name = "role_mask", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Set<String> roles = new HashSet<>();
+
+    // Read-only view of the same column for bitwise role predicates in queries
+    @Column(name = "role_mask", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private long roleMask;
+
+    // Legacy role table, still written so older releases can read it; never read here
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
     @Builder.Default
-    private Set<String> roles = new HashSet<>();
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> legacyRoles = new HashSet<>();
+
+    // Bumped whenever roles or status change; tokens carrying an older value are rejected
+    @Column(name = "authz_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int authzVersion = 0;
+
+    // Optimistic lock and ETag; bulk updates bump it too, the last-login and rehash writes do not
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long version = 0;
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -102,6 +141,33 @@ public class User {
         return firstName + " " + lastName;
     }
 
+    /**
+     * Grant a role, keeping the legacy role table in step.
+     *
+     * @param role the role name
+     * @return true if the user did not have the role yet
+     */
+    public boolean addRole(String role) {
+        legacyRoles.add(role);
+        return roles.add(role);
+    }
+
+    /**
+     * Revoke a role, keeping the legacy role table in step.
+     *
+     * @param role the role name
+     * @return true if the user had the role
+     */
+    public boolean removeRole(String role) {
+        legacyRoles.remove(role);
+        return roles.remove(role);
+    }
+
+    @PrePersist
+    void copyRolesToLegacyTable() {
+        legacyRoles = new HashSet<>(roles);
+    }
+
     public enum UserType {
         INTERNAL,   // Internal company users
         EXTERNAL    // External brand partners
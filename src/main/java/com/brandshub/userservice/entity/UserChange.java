@@ -0,0 +1,59 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record that a user was written, used to invalidate the user caches of other nodes.
+ *
+ * <p>Rows are inserted in the transaction that writes the user, so they
+ * become visible exactly when the change does. Each node polls for rows
+ * written by other nodes and evicts the named users. Rows are only needed
+ * until every node has polled past them and are purged after that.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "user_changes", indexes = {
+    @Index(name = "idx_user_change_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Node that wrote the change; it has already evicted the user itself
+    @Column(name = "origin", nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 16)
+    @ColumnDefault("'UPDATED'")
+    private Kind kind;
+
+    /**
+     * What changed about the user.
+     */
+    public enum Kind {
+        // Any column may have changed
+        UPDATED,
+        // Only the last-login timestamp changed
+        LAST_LOGIN
+    }
+}
@@ -0,0 +1,64 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * One trigram of a searchable user field, forming an inverted index over names and companies.
+ *
+ * <p>Rows are derived data: they are rewritten whenever the user's searchable
+ * fields change and can be rebuilt from the users table at any time. Lookups go
+ * through the {@code (field, gram)} index, so search cost depends on how many
+ * users share the query's trigrams rather than on the size of the table.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "user_search_grams", indexes = {
+    @Index(name = "idx_search_gram_lookup", columnList = "field, gram, user_id")
+})
+@IdClass(UserSearchGram.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSearchGram {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "field", length = 8)
+    private Field field;
+
+    @Id
+    @Column(name = "gram", length = 3)
+    private String gram;
+
+    /**
+     * Searchable field groups.
+     */
+    public enum Field {
+        // First, last and full name
+        NAME,
+        COMPANY
+    }
+
+    /**
+     * Composite primary key.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Field field;
+        private String gram;
+    }
+}
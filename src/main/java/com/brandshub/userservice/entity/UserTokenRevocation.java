@@ -0,0 +1,42 @@
+package com.brandshub.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user token invalidation state.
+ *
+ * <p>Access tokens issued to the user before {@code revokedBefore}, which is
+ * held in whole seconds like the tokens' issue time, are rejected, as are tokens whose authorization version is lower than
+ * {@code minAuthzVersion}. Rows are only kept while an affected token could
+ * still be unexpired.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "user_token_revocations", indexes = {
+    @Index(name = "idx_user_token_revocation_updated_at", columnList = "updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before")
+    private LocalDateTime revokedBefore;
+
+    @Column(name = "min_authz_version")
+    private Integer minAuthzVersion;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.brandshub.userservice.exception;
+
+/**
+ * Exception thrown when request parameters are syntactically valid but cannot be used.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.brandshub.userservice.exception;
+
+/**
+ * Exception thrown when a conditional request's {@code If-Match} does not match the current version.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
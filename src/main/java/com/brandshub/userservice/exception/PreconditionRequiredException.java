@@ -0,0 +1,15 @@
+package com.brandshub.userservice.exception;
+
+/**
+ * Exception thrown when a request that must be conditional carries no {@code If-Match} header.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class PreconditionRequiredException extends RuntimeException {
+
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.brandshub.userservice.exception;
+
+/**
+ * Exception thrown when a bounded resource is saturated and the request is shed.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
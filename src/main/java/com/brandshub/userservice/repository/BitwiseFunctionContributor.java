@@ -0,0 +1,32 @@
+package com.brandshub.userservice.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes {@code bitand(x, y)} and {@code bitor(x, y)} available in JPQL on every database.
+ *
+ * <p>Some dialects, such as H2, already provide them. For those that do not,
+ * SQL Server among them, they are rendered as the {@code &} and {@code |}
+ * operators.</p>
+ *
+ * @author Brands Hub Team
+ */
+public class BitwiseFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        registerIfMissing(functionContributions, "bitand", "(?1&?2)");
+        registerIfMissing(functionContributions, "bitor", "(?1|?2)");
+    }
+
+    private static void registerIfMissing(FunctionContributions functionContributions, String name, String pattern) {
+        if (functionContributions.getFunctionRegistry().findFunctionDescriptor(name) == null) {
+            BasicType<Long> longType = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                    .resolve(StandardBasicTypes.LONG);
+            functionContributions.getFunctionRegistry().registerPattern(name, pattern, longType);
+        }
+    }
+}
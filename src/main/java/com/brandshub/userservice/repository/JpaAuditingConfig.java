@@ -0,0 +1,17 @@
+package com.brandshub.userservice.repository;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Enables JPA auditing for the created/updated timestamps of entities.
+ *
+ * <p>Kept out of the application class so that test slices without JPA,
+ * such as {@code @WebMvcTest}, do not need a JPA metamodel.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,19 @@
+package com.brandshub.userservice.repository;
+
+/**
+ * Limits on the statements sent to the user database.
+ *
+ * @author Brands Hub Team
+ */
+public final class QueryLimits {
+
+    /**
+     * Most values bound into one IN list. SQL Server accepts at most 2100
+     * parameters per statement, so a statement may hold two such lists, or
+     * one list and its other parameters. Longer lists are split into chunks.
+     */
+    public static final int MAX_IN_LIST_SIZE = 1000;
+
+    private QueryLimits() {
+    }
+}
@@ -0,0 +1,105 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.entity.RefreshToken;
+import com.brandshub.userservice.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository interface for refresh token operations.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Resolve a refresh token and the owning user's identity in a single indexed lookup.
+     *
+     * @param tokenHash the SHA-256 hash of the presented token
+     * @return Optional containing the token view if the hash is known
+     */
+    @Query("SELECT t.id AS id, t.familyId AS familyId, t.expiresAt AS expiresAt, t.usedAt AS usedAt, "
+            + "t.revoked AS revoked, u.id AS userId, u.username AS username, u.status AS status, "
+            + "u.userType AS userType, u.authzVersion AS authzVersion, u.roles AS roles "
+            + "FROM RefreshToken t JOIN User u ON u.id = t.userId WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshTokenView> findViewByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Consume a token, succeeding only if no concurrent request consumed it first.
+     *
+     * @param id the token ID
+     * @param usedAt the consumption timestamp
+     * @return 1 if the token was consumed, 0 if it was already used or revoked
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.id = :id AND t.usedAt IS NULL AND t.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    /**
+     * Revoke every token in a family.
+     *
+     * @param familyId the family ID
+     * @return number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId AND t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revoke every token issued to a user.
+     *
+     * @param userId the user ID
+     * @return number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+    int revokeAllForUser(@Param("userId") Long userId);
+
+    /**
+     * Revoke every token issued to any of the given users.
+     *
+     * @param userIds the user IDs
+     * @return number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId IN :userIds AND t.revoked = false")
+    int revokeAllForUsers(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Delete tokens that expired before the given instant.
+     *
+     * @param cutoff the expiry cutoff
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Read-only projection of a refresh token joined with its owner.
+     */
+    interface RefreshTokenView {
+        Long getId();
+        String getFamilyId();
+        LocalDateTime getExpiresAt();
+        LocalDateTime getUsedAt();
+        boolean isRevoked();
+        Long getUserId();
+        String getUsername();
+        User.UserStatus getStatus();
+        User.UserType getUserType();
+        int getAuthzVersion();
+        Set<String> getRoles();
+    }
+}
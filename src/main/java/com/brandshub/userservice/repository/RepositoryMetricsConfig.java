@@ -0,0 +1,33 @@
+package com.brandshub.userservice.repository;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-query Hibernate metrics.
+ *
+ * <p>Spring Boot already times every repository method as
+ * {@code spring.data.repository.invocations} and exports the session factory
+ * statistics as {@code hibernate.*}. This adds execution count, time and rows
+ * of each HQL query as {@code hibernate.query.*}, tagged with the query.
+ * Native queries and JDBC template statements are not included.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        // The Spring proxy unwraps to itself for SessionFactory, which the binder silently ignores
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactoryImplementor.class),
+                "entityManagerFactory", Tags.empty());
+    }
+}
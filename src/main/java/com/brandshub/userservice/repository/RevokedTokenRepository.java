@@ -0,0 +1,50 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for revoked access token operations.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Find the IDs of tokens revoked after the given instant.
+     *
+     * @param since the lower bound (exclusive) of the revocation timestamp
+     * @return list of revoked token IDs
+     */
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.revokedAt > :since")
+    List<String> findJtisRevokedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Find the IDs of revoked tokens that have not yet expired.
+     *
+     * @param now the current time
+     * @return list of revoked token IDs still worth rejecting
+     */
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findUnexpiredJtis(@Param("now") LocalDateTime now);
+
+    /**
+     * Delete revocations of tokens that have expired anyway.
+     *
+     * @param now the current time
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.entity.RoleBit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for role bit assignments.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface RoleBitRepository extends JpaRepository<RoleBit, Integer> {
+
+    /**
+     * Find the highest assigned bit.
+     *
+     * @return the highest bit, or -1 if no role has been registered
+     */
+    @Query("SELECT COALESCE(MAX(r.bit), -1) FROM RoleBit r")
+    int findMaxBit();
+}
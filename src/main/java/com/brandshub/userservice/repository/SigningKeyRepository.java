@@ -0,0 +1,42 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for JWT signing key operations.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    /**
+     * Find keys that are still usable for verification, newest first.
+     *
+     * @param cutoff keys created before this instant are ignored
+     * @return list of keys created after the cutoff
+     */
+    List<SigningKey> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime cutoff);
+
+    /**
+     * Delete keys that can no longer have any unexpired token signed with them.
+     *
+     * @param cutoff keys created before this instant are deleted
+     * @return number of deleted keys
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SigningKey k WHERE k.createdAt < :cutoff")
+    int deleteByCreatedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,43 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.dto.UserFilter;
+import com.brandshub.userservice.entity.User;
+
+import java.util.List;
+
+/**
+ * Repository fragment selecting the IDs a bulk update applies to, one chunk at a time.
+ *
+ * <p>Only IDs are selected, in ascending order after {@code afterId}, so a
+ * caller can walk the matching users in chunks and mutate each chunk with a
+ * set-based statement. Users already in the target state are skipped.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserBulkRepository {
+
+    /**
+     * Find users matching the filter whose status differs from the target.
+     *
+     * @param filter the user criteria
+     * @param status the target status
+     * @param afterId only IDs greater than this are returned
+     * @param limit maximum number of IDs to return
+     * @return matching user IDs in ascending order
+     */
+    List<Long> findIdsForStatusChange(UserFilter filter, User.UserStatus status, long afterId, int limit);
+
+    /**
+     * Find users matching the filter that hold, or lack, a role.
+     *
+     * @param filter the user criteria
+     * @param roleBit the role's bit from the role registry
+     * @param holding true for users holding the role, false for users lacking it
+     * @param afterId only IDs greater than this are returned
+     * @param limit maximum number of IDs to return
+     * @return matching user IDs in ascending order
+     */
+    List<Long> findIdsForRoleChange(UserFilter filter, long roleBit, boolean holding, long afterId, int limit);
+}
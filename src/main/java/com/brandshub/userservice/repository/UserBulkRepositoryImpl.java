@@ -0,0 +1,82 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.dto.UserFilter;
+import com.brandshub.userservice.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria-based implementation of UserBulkRepository.
+ *
+ * @author Brands Hub Team
+ */
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsForStatusChange(UserFilter filter, User.UserStatus status, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> user = query.from(User.class);
+        List<Predicate> predicates = matching(cb, user, filter);
+        predicates.add(cb.notEqual(user.get("status"), status));
+        return findIds(cb, query, user, predicates, afterId, limit);
+    }
+
+    @Override
+    public List<Long> findIdsForRoleChange(UserFilter filter, long roleBit, boolean holding, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> user = query.from(User.class);
+        List<Predicate> predicates = matching(cb, user, filter);
+        Expression<Long> held = cb.function("bitand", Long.class, user.get("roleMask"), cb.literal(roleBit));
+        predicates.add(holding ? cb.notEqual(held, 0L) : cb.equal(held, 0L));
+        return findIds(cb, query, user, predicates, afterId, limit);
+    }
+
+    private List<Long> findIds(CriteriaBuilder cb, CriteriaQuery<Long> query, Root<User> user,
+                               List<Predicate> predicates, long afterId, int limit) {
+        predicates.add(cb.greaterThan(user.get(ID), afterId));
+        query.select(user.get(ID))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get(ID)));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> matching(CriteriaBuilder cb, Root<User> user, UserFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getCompanyName() != null) {
+            predicates.add(cb.equal(user.get("companyName"), filter.getCompanyName()));
+        }
+        if (filter.getUserType() != null) {
+            predicates.add(cb.equal(user.get("userType"), filter.getUserType()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(user.get("status"), filter.getStatus()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.get("createdAt"), filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(user.get("createdAt"), filter.getCreatedTo()));
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(user.get(ID).in(filter.getIds()));
+        }
+        return predicates;
+    }
+}
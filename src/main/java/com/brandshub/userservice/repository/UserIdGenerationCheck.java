@@ -0,0 +1,49 @@
+package com.brandshub.userservice.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+
+/**
+ * Refuses to start against a database whose {@code users.id} is still an
+ * IDENTITY column.
+ *
+ * <p>User ids come from the pooled {@code users_seq} sequence, and
+ * {@code ddl-auto=update} cannot move an existing table there: it neither drops
+ * IDENTITY from {@code users.id} nor starts the sequence above the existing
+ * ids, so every insert would fail. Such databases must first be migrated with
+ * {@code db/sqlserver/users-id-to-sequence.sql}; failing here turns a missed
+ * migration into a failed deployment rather than failed registrations.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Component
+@RequiredArgsConstructor
+public class UserIdGenerationCheck {
+
+    static final String MIGRATION_SCRIPT = "db/sqlserver/users-id-to-sequence.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void verify() {
+        Boolean identity = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, "users", "id")) {
+                while (columns.next()) {
+                    if ("YES".equals(columns.getString("IS_AUTOINCREMENT"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+        if (Boolean.TRUE.equals(identity)) {
+            throw new IllegalStateException("users.id is an IDENTITY column but user ids now come from users_seq; "
+                    + "run " + MIGRATION_SCRIPT + " against this database before deploying");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.dto.UserField;
+import com.brandshub.userservice.dto.UserResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment reading users as sparse projections.
+ *
+ * <p>Only the columns behind the requested {@link UserField}s are selected and
+ * no entities are managed. Fields that were not requested are left null in
+ * the returned responses.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserProjectionRepository {
+
+    /**
+     * Read one keyset page of users, newest first, selecting only the given fields.
+     *
+     * @param fields the fields to select
+     * @param position the position after the previous page
+     * @param limit the page size
+     * @return the page, with scroll positions keyed by {@code id}
+     */
+    Window<UserResponse> findFieldsBy(Set<UserField> fields, ScrollPosition position, Limit limit);
+
+    /**
+     * Read one keyset page of users holding a role, newest first, selecting
+     * only the given fields.
+     *
+     * @param fields the fields to select
+     * @param roleBit the role's bit from the role registry
+     * @param position the position after the previous page
+     * @param limit the page size
+     * @return the page, with scroll positions keyed by {@code id}
+     */
+    Window<UserResponse> findFieldsByRoleBit(Set<UserField> fields, long roleBit, ScrollPosition position,
+                                             Limit limit);
+
+    /**
+     * Read the given users, selecting only the given fields.
+     *
+     * @param fields the fields to select
+     * @param ids the user IDs
+     * @return the users found, in no particular order
+     */
+    List<UserResponse> findFieldsByIdIn(Set<UserField> fields, Collection<Long> ids);
+}
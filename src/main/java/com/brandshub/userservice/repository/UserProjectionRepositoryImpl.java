@@ -0,0 +1,130 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.dto.UserField;
+import com.brandshub.userservice.dto.SparseUserResponse;
+import com.brandshub.userservice.dto.UserResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria-based implementation of UserProjectionRepository.
+ *
+ * @author Brands Hub Team
+ */
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    private static final String ID = "id";
+    private static final String ROLE_MASK = "roleMask";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<UserResponse> findFieldsBy(Set<UserField> fields, ScrollPosition position, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(cb, fields);
+        Root<?> user = query.getRoots().iterator().next();
+        query.where(cb.lessThan(user.get(ID), KeysetCursor.before(position)));
+        return page(cb, query, fields, limit);
+    }
+
+    @Override
+    public Window<UserResponse> findFieldsByRoleBit(Set<UserField> fields, long roleBit, ScrollPosition position,
+                                                    Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(cb, fields);
+        Root<?> user = query.getRoots().iterator().next();
+        query.where(
+                cb.notEqual(cb.function("bitand", Long.class, user.get(ROLE_MASK), cb.literal(roleBit)), 0L),
+                cb.lessThan(user.get(ID), KeysetCursor.before(position)));
+        return page(cb, query, fields, limit);
+    }
+
+    private Window<UserResponse> page(CriteriaBuilder cb, CriteriaQuery<Tuple> query, Set<UserField> fields,
+                                      Limit limit) {
+        query.orderBy(cb.desc(query.getRoots().iterator().next().get(ID)));
+
+        // One extra row tells whether another page follows
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit.max() + 1)
+                .getResultList();
+        return KeysetCursor.window(toResponses(fields, rows), limit, UserResponse::getId);
+    }
+
+    @Override
+    public List<UserResponse> findFieldsByIdIn(Set<UserField> fields, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(cb, fields);
+        query.where(query.getRoots().iterator().next().get(ID).in(ids));
+        return toResponses(fields, entityManager.createQuery(query).getResultList());
+    }
+
+    private static CriteriaQuery<Tuple> select(CriteriaBuilder cb, Set<UserField> fields) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(ID);
+        for (UserField field : fields) {
+            attributes.addAll(field.getAttributes());
+        }
+        List<Selection<?>> selections = attributes.stream()
+                .<Selection<?>>map(attribute -> user.get(attribute).alias(attribute))
+                .toList();
+        return query.multiselect(selections);
+    }
+
+    private static List<UserResponse> toResponses(Set<UserField> fields, List<Tuple> rows) {
+        return rows.stream().map(row -> toResponse(fields, row)).toList();
+    }
+
+    private static UserResponse toResponse(Set<UserField> fields, Tuple row) {
+        UserResponse response = new SparseUserResponse();
+        response.setId(row.get(ID, Long.class));
+        for (UserField field : fields) {
+            switch (field) {
+                case USERNAME -> response.setUsername(row.get("username", String.class));
+                case EMAIL -> response.setEmail(row.get("email", String.class));
+                case FIRST_NAME -> response.setFirstName(row.get("firstName", String.class));
+                case LAST_NAME -> response.setLastName(row.get("lastName", String.class));
+                case FULL_NAME -> response.setFullName(
+                        row.get("firstName", String.class) + " " + row.get("lastName", String.class));
+                case COMPANY_NAME -> response.setCompanyName(row.get("companyName", String.class));
+                case PHONE_NUMBER -> response.setPhoneNumber(row.get("phoneNumber", String.class));
+                case USER_TYPE -> response.setUserType(row.get("userType", User.UserType.class));
+                case STATUS -> response.setStatus(row.get("status", User.UserStatus.class));
+                case ROLES -> response.setRoles(castRoles(row.get("roles")));
+                case CREATED_AT -> response.setCreatedAt(row.get("createdAt", LocalDateTime.class));
+                case UPDATED_AT -> response.setUpdatedAt(row.get("updatedAt", LocalDateTime.class));
+                case LAST_LOGIN -> response.setLastLogin(row.get("lastLogin", LocalDateTime.class));
+                case ID -> {
+                    // Always read above
+                }
+            }
+        }
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> castRoles(Object roles) {
+        return (Set<String>) roles;
+    }
+}
@@ -1,13 +1,26 @@
 package com.brandshub.userservice.repository;
 
 import com.brandshub.userservice.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity operations.
@@ -17,6 +30,8 @@ import java.util.Optional;
  *   <li>Basic CRUD operations</li>
  *   <li>Custom queries for user search and filtering</li>
  *   <li>User authentication and validation</li>
+ *   <li>Sparse field projections, see {@link UserProjectionRepository}</li>
+ *   <li>Set-based bulk updates, with IDs chosen through {@link UserBulkRepository}</li>
  * </ul>
  * 
  * @author Brands Hub Team
@@ -24,7 +39,7 @@ import java.util.Optional;
  * @since 2024-01-01
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserProjectionRepository, UserBulkRepository {
 
     /**
      * Find a user by their unique username.
@@ -32,6 +47,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username the username to search for
      * @return Optional containing the user if found
      */
+    @Transactional(readOnly = true)
     Optional<User> findByUsername(String username);
 
     /**
@@ -40,8 +56,118 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the email address to search for
      * @return Optional containing the user if found
      */
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
 
+    /**
+     * Resolve login credentials by username or email in a single round trip.
+     * 
+     * <p>Both predicates hit a unique index. Only the columns needed to verify
+     * the password, issue a token and return the user's profile are selected,
+     * so the entity is never hydrated. If the identifier matches one user's username and another
+     * user's email, rows for both are returned.</p>
+     * 
+     * @param identifier the username or email address
+     * @return credential rows, at most two, empty if no user matches
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.password AS password, u.status AS status, "
+            + "u.userType AS userType, u.authzVersion AS authzVersion, u.roles AS roles, u.email AS email, "
+            + "u.firstName AS firstName, u.lastName AS lastName, u.companyName AS companyName, "
+            + "u.phoneNumber AS phoneNumber, u.createdAt AS createdAt, u.updatedAt AS updatedAt, "
+            + "u.version AS version "
+            + "FROM User u WHERE u.username = :identifier OR u.email = :identifier")
+    List<LoginCredentialsRow> findLoginCredentials(@Param("identifier") String identifier);
+
+    /**
+     * Replace a user's password hash without loading the entity, provided it
+     * is still the hash the caller read.
+     * 
+     * <p>A rehash computed from a password verified at login must not
+     * overwrite a password change committed in the meantime.</p>
+     * 
+     * @param userId the user ID
+     * @param oldPassword the hash the new one replaces
+     * @param password the new password hash
+     * @return number of updated rows, 0 if the hash has changed since it was read
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId AND u.password = :oldPassword")
+    int updatePassword(@Param("userId") Long userId, @Param("oldPassword") String oldPassword,
+                       @Param("password") String password);
+
+    /**
+     * Set the status of the given users without loading them.
+     * 
+     * <p>Users already in the status are left alone; the others get a new
+     * authorization version, so tokens carrying the old status stop working.</p>
+     * 
+     * @param ids the user IDs
+     * @param status the new status
+     * @param now the modification time
+     * @return number of updated users
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.status = :status, u.authzVersion = u.authzVersion + 1, u.version = u.version + 1, "
+            + "u.updatedAt = :now "
+            + "WHERE u.id IN :ids AND u.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") User.UserStatus status,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Set a role bit on the given users without loading them.
+     * 
+     * @param ids the user IDs
+     * @param roleBit the role's bit from the role registry
+     * @param now the modification time
+     * @return number of users that did not hold the role before
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.roleMask = bitor(u.roleMask, cast(:roleBit as Long)), "
+            + "u.authzVersion = u.authzVersion + 1, u.version = u.version + 1, u.updatedAt = :now "
+            + "WHERE u.id IN :ids AND bitand(u.roleMask, cast(:roleBit as Long)) = 0")
+    int addRoleBitByIdIn(@Param("ids") Collection<Long> ids, @Param("roleBit") long roleBit,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Clear a role bit on the given users without loading them.
+     * 
+     * @param ids the user IDs
+     * @param roleBit the role's bit from the role registry
+     * @param now the modification time
+     * @return number of users that held the role before
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.roleMask = bitand(u.roleMask, cast(:keepMask as Long)), "
+            + "u.authzVersion = u.authzVersion + 1, u.version = u.version + 1, u.updatedAt = :now "
+            + "WHERE u.id IN :ids AND bitand(u.roleMask, cast(:roleBit as Long)) <> 0")
+    int removeRoleBitByIdIn(@Param("ids") Collection<Long> ids, @Param("roleBit") long roleBit,
+                            @Param("keepMask") long keepMask, @Param("now") LocalDateTime now);
+
+    /**
+     * Add a role to the legacy role table for the given users that lack it.
+     * 
+     * @param ids the user IDs
+     * @param role the role name
+     * @return number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_roles (user_id, role) SELECT u.id, :role FROM users u "
+            + "WHERE u.id IN (:ids) AND NOT EXISTS "
+            + "(SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND r.role = :role)", nativeQuery = true)
+    int insertLegacyRoleByIdIn(@Param("ids") Collection<Long> ids, @Param("role") String role);
+
+    /**
+     * Remove a role from the legacy role table for the given users.
+     * 
+     * @param ids the user IDs
+     * @param role the role name
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE role = :role AND user_id IN (:ids)", nativeQuery = true)
+    int deleteLegacyRoleByIdIn(@Param("ids") Collection<Long> ids, @Param("role") String role);
+
     /**
      * Check if a user exists with the given username.
      * 
@@ -59,38 +185,78 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     /**
-     * Find users by their user type (INTERNAL or EXTERNAL).
+     * Find which of the given usernames and emails are already taken, in one query.
+     * 
+     * <p>Used by bulk import to check a whole chunk of rows at once. Both
+     * predicates are served by unique indexes.</p>
+     * 
+     * @param usernames candidate usernames
+     * @param emails candidate email addresses
+     * @return the identities of users matching any candidate
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM User u "
+            + "WHERE u.username IN :usernames OR u.email IN :emails")
+    List<IdentityRow> findIdentities(@Param("usernames") Collection<String> usernames,
+                                     @Param("emails") Collection<String> emails);
+
+    /**
+     * Read one page of all users by keyset position.
+     * 
+     * @param position where the previous page ended, or the initial position
+     * @param sort the keyset order
+     * @param limit maximum number of users to return
+     * @return the page and the position after its last element
+     */
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Read one page of users of a type by keyset position.
      * 
      * @param userType the type of users to find
-     * @return list of users with the specified type
+     * @param position where the previous page ended, or the initial position
+     * @param sort the keyset order
+     * @param limit maximum number of users to return
+     * @return the page and the position after its last element
      */
-    List<User> findByUserType(User.UserType userType);
+    Window<User> findByUserType(User.UserType userType, ScrollPosition position, Sort sort, Limit limit);
 
     /**
-     * Find users by their status (ACTIVE, INACTIVE, SUSPENDED, PENDING).
+     * Read one page of users with a status by keyset position.
      * 
      * @param status the status of users to find
-     * @return list of users with the specified status
+     * @param position where the previous page ended, or the initial position
+     * @param sort the keyset order
+     * @param limit maximum number of users to return
+     * @return the page and the position after its last element
      */
-    List<User> findByStatus(User.UserStatus status);
+    Window<User> findByStatus(User.UserStatus status, ScrollPosition position, Sort sort, Limit limit);
 
     /**
-     * Find users by company name (case-insensitive search).
+     * Read one page of users holding a role, newest first.
+     * 
+     * <p>The role test is a single bitwise predicate on the users row.</p>
      * 
-     * @param companyName the company name to search for
-     * @return list of users from the specified company
+     * @param roleBit the role's bit from the role registry
+     * @param beforeId only users with a smaller ID are returned
+     * @param limit maximum number of users to return
+     * @return users holding the role, by descending ID
      */
-    @Query("SELECT u FROM User u WHERE LOWER(u.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))")
-    List<User> findByCompanyNameContainingIgnoreCase(@Param("companyName") String companyName);
+    @Query("SELECT u FROM User u WHERE bitand(u.roleMask, cast(:roleBit as Long)) <> 0 AND u.id < :beforeId ORDER BY u.id DESC")
+    List<User> findByRoleBit(@Param("roleBit") long roleBit, @Param("beforeId") long beforeId, Limit limit);
 
     /**
-     * Find users by name (first name or last name) using case-insensitive search.
+     * Stream every user in id order for bulk export.
+     * 
+     * <p>Rows are pulled from the driver in fetch-size chunks as the stream is
+     * consumed. The caller must consume the stream inside a transaction, close
+     * it, and detach each user once written so the persistence context stays
+     * small.</p>
      * 
-     * @param name the name to search for
-     * @return list of users matching the name criteria
+     * @return a stream over all users
      */
-    @Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<User> findByNameContainingIgnoreCase(@Param("name") String name);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllForExport();
 
     /**
      * Find active users by user type.
@@ -126,4 +292,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.createdAt BETWEEN :startDate AND :endDate ORDER BY u.createdAt DESC")
     List<User> findByCreatedAtBetween(@Param("startDate") java.time.LocalDateTime startDate, 
                                      @Param("endDate") java.time.LocalDateTime endDate);
+
+    /**
+     * Read-only projection of the login columns and the profile returned on login.
+     */
+    interface LoginCredentialsRow {
+        Long getId();
+        String getUsername();
+        String getPassword();
+        User.UserStatus getStatus();
+        User.UserType getUserType();
+        int getAuthzVersion();
+        Set<String> getRoles();
+        String getEmail();
+        String getFirstName();
+        String getLastName();
+        String getCompanyName();
+        String getPhoneNumber();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        long getVersion();
+    }
+
+    /**
+     * Read-only projection of the unique identity columns.
+     */
+    interface IdentityRow {
+        String getUsername();
+        String getEmail();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for per-user token revocation cutoffs.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    /**
+     * Find the IDs of users whose invalidation state changed after the given instant.
+     *
+     * @param since the lower bound (exclusive) of the update timestamp
+     * @return list of user IDs
+     */
+    @Query("SELECT r.userId FROM UserTokenRevocation r WHERE r.updatedAt > :since")
+    List<Long> findUserIdsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Create cutoff rows requiring the current authorization version for users that have none.
+     *
+     * @param userIds the user IDs
+     * @param now the update timestamp
+     * @return number of inserted rows
+     */
+    @Modifying
+    @Query("INSERT INTO UserTokenRevocation (userId, minAuthzVersion, updatedAt) "
+            + "SELECT u.id, u.authzVersion, :now FROM User u WHERE u.id IN :userIds "
+            + "AND NOT EXISTS (SELECT 1 FROM UserTokenRevocation r WHERE r.userId = u.id)")
+    int insertCurrentAuthzVersions(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Raise existing cutoff rows to the users' current authorization version.
+     *
+     * @param userIds the user IDs
+     * @param now the update timestamp
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE UserTokenRevocation r SET r.updatedAt = :now, "
+            + "r.minAuthzVersion = (SELECT u.authzVersion FROM User u WHERE u.id = r.userId) "
+            + "WHERE r.userId IN :userIds")
+    int updateToCurrentAuthzVersions(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete rows older than any access token that could still be valid.
+     *
+     * @param cutoff the oldest update worth keeping
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.updatedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
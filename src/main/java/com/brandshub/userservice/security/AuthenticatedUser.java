@@ -0,0 +1,74 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.entity.User;
+import lombok.Value;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable principal built from the claims of a verified access token.
+ *
+ * <p>Everything needed for authorization decisions (user ID, roles, status,
+ * user type) travels in the token, so {@code @PreAuthorize} expressions such as
+ * {@code hasRole('ADMIN') or #id == principal.id} are evaluated in memory. The
+ * principal is built once per token and cached with it; authority instances are
+ * shared across principals.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Value
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    Long id;
+    String username;
+    Set<String> roles;
+    User.UserStatus status;
+    User.UserType userType;
+    int authzVersion;
+    String tokenId;
+    Instant issuedAt;
+    Instant expiresAt;
+    List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, Set<String> roles, User.UserStatus status,
+                             User.UserType userType, int authzVersion, String tokenId,
+                             Instant issuedAt, Instant expiresAt) {
+        this.id = id;
+        this.username = username;
+        this.roles = Set.copyOf(roles);
+        this.status = status;
+        this.userType = userType;
+        this.authzVersion = authzVersion;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.authorities = this.roles.stream().map(AuthenticatedUser::authority).toList();
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Check whether the token was issued to an active account.
+     *
+     * @return true if the status claim is ACTIVE
+     */
+    public boolean isActive() {
+        return status == User.UserStatus.ACTIVE;
+    }
+
+    private static GrantedAuthority authority(String role) {
+        return AUTHORITIES.computeIfAbsent(role, r -> new SimpleGrantedAuthority("ROLE_" + r));
+    }
+}
@@ -0,0 +1,174 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.entity.SigningKey;
+import com.brandshub.userservice.repository.SigningKeyRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory ring of asymmetric JWT signing keys, backed by the
+ * {@code jwt_signing_keys} table.
+ *
+ * <p>A new key pair is generated once the newest key is older than the rotation
+ * period. It is published in the JWKS document immediately but only used for
+ * signing after the activation delay, so other replicas and downstream
+ * consumers have picked it up before the first token carrying its {@code kid}
+ * arrives. Keys are kept for verification until every token they could have
+ * signed has expired.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final SignatureAlgorithm algorithm;
+    private final Duration rotationPeriod;
+    private final Duration activationDelay;
+    private final Duration retention;
+
+    // Replaced atomically on every refresh; readers never see a partially built ring
+    private volatile Ring ring = new Ring(null, Map.of(), List.of());
+
+    public JwtKeyRing(SigningKeyRepository signingKeyRepository,
+                      @Value("${jwt.keys.algorithm:ES256}") String algorithm,
+                      @Value("${jwt.keys.rotation-period:P7D}") Duration rotationPeriod,
+                      @Value("${jwt.keys.activation-delay:PT15M}") Duration activationDelay,
+                      @Value("${jwt.keys.refresh-interval:PT5M}") Duration refreshInterval,
+                      @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.algorithm = signatureAlgorithm(algorithm);
+        this.rotationPeriod = rotationPeriod;
+        this.activationDelay = activationDelay;
+        // A successor is only generated on a refresh, and a replica switches to it only on its next refresh
+        // after activation, so a key may still sign for up to two refresh intervals past its rotation period
+        this.retention = rotationPeriod.plus(refreshInterval.multipliedBy(2)).plus(activationDelay)
+                .plusMillis(jwtExpirationMs);
+    }
+
+    /**
+     * Load keys from the database, rotating and pruning as needed.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval:PT5M}", initialDelayString = "${jwt.keys.refresh-interval:PT5M}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SigningKey> stored = new ArrayList<>(
+                signingKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(now.minus(retention)));
+        if (stored.isEmpty() || stored.get(0).getCreatedAt().isBefore(now.minus(rotationPeriod))) {
+            stored.add(0, signingKeyRepository.save(generate(now)));
+        }
+        signingKeyRepository.deleteByCreatedAtBefore(now.minus(retention));
+
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        ActiveKey signing = null;
+        for (SigningKey key : stored) {
+            ActiveKey active = decode(key);
+            verificationKeys.put(active.kid(), active.publicKey());
+            jwks.add(Jwks.builder().key(active.publicKey()).id(active.kid()).algorithm(key.getAlgorithm()).build());
+            // Newest key past its activation delay signs; fall back to the oldest for a fresh ring
+            if (signing == null && !key.getCreatedAt().isAfter(now.minus(activationDelay))) {
+                signing = active;
+            }
+        }
+        if (signing == null) {
+            signing = decode(stored.get(stored.size() - 1));
+        }
+        ring = new Ring(signing, Map.copyOf(verificationKeys), Collections.unmodifiableList(jwks));
+        log.debug("JWT key ring refreshed: signing kid={}, {} verification keys", signing.kid(), verificationKeys.size());
+    }
+
+    /**
+     * Get the key currently used to sign new tokens.
+     *
+     * @return the active signing key
+     */
+    public ActiveKey signingKey() {
+        return ring.signing();
+    }
+
+    /**
+     * Look up a verification key by its {@code kid}.
+     *
+     * @param kid the key identifier from the JWS header
+     * @return the public key, or null if the kid is unknown or retired
+     */
+    public PublicKey verificationKey(String kid) {
+        return kid == null ? null : ring.verificationKeys().get(kid);
+    }
+
+    /**
+     * Get the public keys as JWKs for publication.
+     *
+     * @return the current JWK list, newest first
+     */
+    public List<PublicJwk<?>> publicJwks() {
+        return ring.jwks();
+    }
+
+    private SigningKey generate(LocalDateTime now) {
+        KeyPair pair = algorithm.keyPair().build();
+        SigningKey key = SigningKey.builder()
+                .kid(UUID.randomUUID().toString())
+                .algorithm(algorithm.getId())
+                .keyAlgorithm(pair.getPublic().getAlgorithm())
+                .publicKey(pair.getPublic().getEncoded())
+                .privateKey(pair.getPrivate().getEncoded())
+                .createdAt(now)
+                .build();
+        log.info("Generated new JWT signing key: kid={}, algorithm={}", key.getKid(), key.getAlgorithm());
+        return key;
+    }
+
+    private static ActiveKey decode(SigningKey key) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance(key.getKeyAlgorithm());
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(key.getPublicKey()));
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(key.getPrivateKey()));
+            return new ActiveKey(key.getKid(), signatureAlgorithm(key.getAlgorithm()), privateKey, publicKey);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot decode JWT signing key " + key.getKid(), ex);
+        }
+    }
+
+    private static SignatureAlgorithm signatureAlgorithm(String id) {
+        if (Jwts.SIG.get().get(id) instanceof SignatureAlgorithm signatureAlgorithm) {
+            return signatureAlgorithm;
+        }
+        throw new IllegalArgumentException("Unsupported asymmetric JWT algorithm: " + id);
+    }
+
+    /**
+     * Decoded key pair ready for signing and verification.
+     */
+    public record ActiveKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+    }
+
+    private record Ring(ActiveKey signing, Map<String, PublicKey> verificationKeys, List<PublicJwk<?>> jwks) {
+    }
+}
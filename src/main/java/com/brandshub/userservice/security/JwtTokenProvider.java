@@ -1,58 +1,124 @@
 package com.brandshub.userservice.security;
 
+import com.brandshub.userservice.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for generating and validating JWT tokens.
  *
+ * <p>Tokens are signed with the current asymmetric key from the
+ * {@link JwtKeyRing} and carry its {@code kid} in the header, so downstream
+ * services can verify them locally against the published JWKS. The parser is
+ * built once at startup and resolves the verification key by {@code kid} with a
+ * single map lookup.</p>
+ *
+ * <p>A verified token is turned into an {@link AuthenticatedUser} and remembered
+ * in the {@link VerifiedTokenCache}, so repeated requests with the same bearer
+ * token skip both signature verification and principal construction until the
+ * token expires.</p>
+ *
  * @author Brands Hub Team
  */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLES = "rol";
+    private static final String CLAIM_STATUS = "st";
+    private static final String CLAIM_USER_TYPE = "ut";
+    private static final String CLAIM_AUTHZ_VERSION = "ver";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpirationMs;
+    private final long jwtExpirationMs;
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(@Value("${jwt.expiration}") long jwtExpirationMs,
+                            JwtKeyRing keyRing,
+                            VerifiedTokenCache verifiedTokenCache) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parser().keyLocator(this::locateKey).build();
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
 
     /**
-     * Generate a JWT token for the given username.
+     * Generate a JWT token for the given user.
      *
-     * @param username the username
+     * <p>Every token gets a unique {@code jti} so it can be revoked individually,
+     * and carries the user's ID, roles, status, type and authorization version so
+     * requests can be authorized without loading the user.</p>
+     *
+     * @param subject the identity and authorization data to embed
      * @return the JWT token
      */
-    public String generateToken(String username) {
+    public String generateToken(TokenSubject subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        JwtKeyRing.ActiveKey signingKey = keyRing.signingKey();
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(subject.username())
+                .claim(CLAIM_USER_ID, subject.userId())
+                .claim(CLAIM_ROLES, subject.roles())
+                .claim(CLAIM_STATUS, subject.status().name())
+                .claim(CLAIM_USER_TYPE, subject.userType().name())
+                .claim(CLAIM_AUTHZ_VERSION, subject.authzVersion())
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey.privateKey(), signingKey.algorithm())
                 .compact();
     }
 
+    /**
+     * Get the lifetime of newly issued access tokens.
+     *
+     * @return the access token lifetime in milliseconds
+     */
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    /**
+     * Verify the token and build its principal in a single pass.
+     *
+     * @param token the JWT token
+     * @return the authenticated principal, or empty if the token is invalid, expired
+     *         or lacks the required claims
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        AuthenticatedUser cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            AuthenticatedUser principal = toPrincipal(jwtParser.parseSignedClaims(token).getPayload());
+            verifiedTokenCache.put(token, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Invalid JWT token
+            return Optional.empty();
+        }
+    }
+
     /**
      * Get username from JWT token.
      *
      * @param token the JWT token
-     * @return the username
+     * @return the username, or null if the token is invalid
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return authenticate(token).map(AuthenticatedUser::getUsername).orElse(null);
     }
 
     /**
@@ -62,12 +128,41 @@ public class JwtTokenProvider {
      * @return true if valid, false otherwise
      */
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(jwtSecret.getBytes()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException ex) {
-            // Invalid JWT token
-            return false;
+        return authenticate(authToken).isPresent();
+    }
+
+    private static AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        String status = claims.get(CLAIM_STATUS, String.class);
+        String userType = claims.get(CLAIM_USER_TYPE, String.class);
+        Integer authzVersion = claims.get(CLAIM_AUTHZ_VERSION, Integer.class);
+        if (userId == null || roles == null || status == null || userType == null || authzVersion == null
+                || claims.getExpiration() == null) {
+            throw new MalformedJwtException("Access token is missing authorization claims");
+        }
+        return new AuthenticatedUser(
+                userId,
+                claims.getSubject(),
+                roles.stream().map(String::valueOf).collect(Collectors.toSet()),
+                User.UserStatus.valueOf(status),
+                User.UserType.valueOf(userType),
+                authzVersion,
+                claims.getId(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant());
+    }
+
+    // Select the verification key by kid; an unknown kid fails verification
+    private Key locateKey(Header header) {
+        if (!(header instanceof ProtectedHeader protectedHeader)) {
+            throw new UnsupportedJwtException("Unsigned JWTs are not accepted");
+        }
+        String kid = protectedHeader.getKeyId();
+        Key key = keyRing.verificationKey(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
         }
+        return key;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.exception.RateLimitExceededException;
+import com.brandshub.userservice.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cheap checks that run before a login attempt reaches the database or the password hasher.
+ *
+ * <p>Every attempt takes a token from a bucket for the submitted identifier and
+ * one for the client IP; an empty bucket rejects the attempt with HTTP 429. The
+ * buckets live in bounded Caffeine caches, whose striped internals keep
+ * contention per key, and idle buckets expire once they would have refilled
+ * anyway. Identifiers that matched no account are remembered briefly so repeated
+ * guesses are answered without a query. Together these keep database and CPU
+ * load roughly flat under credential-stuffing traffic.</p>
+ *
+ * <p>Account lookups that need no credentials, such as availability checks,
+ * take from the same per-IP buckets, since they reveal which accounts exist
+ * just as failed logins do.</p>
+ *
+ * <p>The client IP is the request's remote address, which Tomcat resolves
+ * from {@code X-Forwarded-For} for requests from a trusted proxy (see
+ * {@code server.forward-headers-strategy}). Without that, every client behind
+ * the ingress would share the ingress pod's bucket.</p>
+ *
+ * <p>All state is per node. Each replica enforces the limits independently, and
+ * a newly registered identifier can be reported unknown by another node for at
+ * most {@code auth.login.unknown-identifier-ttl}.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Component
+public class LoginAttemptGate {
+
+    private final Cache<String, TokenBucket> identifierBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, Boolean> unknownIdentifiers;
+    private final int identifierCapacity;
+    private final double identifierRefillPerSecond;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+
+    private final Counter identifierRateRejections;
+    private final Counter ipRateRejections;
+    private final Counter lookupIpRateRejections;
+    private final Counter unknownIdentifierRejections;
+
+    public LoginAttemptGate(@Value("${auth.login.identifier.capacity:10}") int identifierCapacity,
+                            @Value("${auth.login.identifier.refill-period:PT1M}") Duration identifierRefillPeriod,
+                            @Value("${auth.login.ip.capacity:50}") int ipCapacity,
+                            @Value("${auth.login.ip.refill-period:PT1S}") Duration ipRefillPeriod,
+                            @Value("${auth.login.max-tracked-keys:100000}") long maxTrackedKeys,
+                            @Value("${auth.login.unknown-identifier-ttl:PT30S}") Duration unknownIdentifierTtl,
+                            MeterRegistry meterRegistry) {
+        this.identifierCapacity = identifierCapacity;
+        this.identifierRefillPerSecond = perSecond(identifierRefillPeriod);
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = perSecond(ipRefillPeriod);
+        this.identifierBuckets = bucketCache(maxTrackedKeys, identifierCapacity, identifierRefillPeriod);
+        this.ipBuckets = bucketCache(maxTrackedKeys, ipCapacity, ipRefillPeriod);
+        this.unknownIdentifiers = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(unknownIdentifierTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownIdentifiers, "auth.login.unknown-identifiers");
+
+        this.identifierRateRejections = rejectionCounter(meterRegistry, "identifier_rate");
+        this.ipRateRejections = rejectionCounter(meterRegistry, "ip_rate");
+        this.lookupIpRateRejections = Counter.builder("user.lookup.rejected")
+                .description("Account lookups rejected by the per-IP budget")
+                .tag("reason", "ip_rate")
+                .register(meterRegistry);
+        this.unknownIdentifierRejections = rejectionCounter(meterRegistry, "unknown_identifier");
+    }
+
+    /**
+     * Take a login attempt from the identifier's and the client's budget.
+     *
+     * @param identifier the submitted username or email
+     * @param clientIp the client address, may be null when unknown
+     * @throws RateLimitExceededException if either budget is exhausted
+     */
+    public void acquire(String identifier, String clientIp) {
+        if (clientIp != null) {
+            TokenBucket ipBucket = ipBucket(clientIp);
+            if (!ipBucket.tryConsume()) {
+                ipRateRejections.increment();
+                throw rateLimited(ipBucket, "Too many login attempts, please retry later");
+            }
+        }
+        TokenBucket identifierBucket = identifierBuckets.get(normalize(identifier),
+                key -> new TokenBucket(identifierCapacity, identifierRefillPerSecond));
+        if (!identifierBucket.tryConsume()) {
+            identifierRateRejections.increment();
+            throw rateLimited(identifierBucket, "Too many login attempts, please retry later");
+        }
+    }
+
+    /**
+     * Take an unauthenticated account lookup from the client's budget.
+     *
+     * @param clientIp the client address, may be null when unknown
+     * @throws RateLimitExceededException if the budget is exhausted
+     */
+    public void acquireLookup(String clientIp) {
+        if (clientIp == null) {
+            return;
+        }
+        TokenBucket ipBucket = ipBucket(clientIp);
+        if (!ipBucket.tryConsume()) {
+            lookupIpRateRejections.increment();
+            throw rateLimited(ipBucket, "Too many requests, please retry later");
+        }
+    }
+
+    /**
+     * Check whether the identifier recently matched no account.
+     *
+     * @param identifier the submitted username or email, compared exactly
+     * @return true if the attempt can be rejected without a lookup
+     */
+    public boolean isKnownUnknown(String identifier) {
+        if (unknownIdentifiers.getIfPresent(identifier) == null) {
+            return false;
+        }
+        unknownIdentifierRejections.increment();
+        return true;
+    }
+
+    /**
+     * Remember that an identifier matched no account.
+     *
+     * @param identifier the submitted username or email
+     */
+    public void recordUnknown(String identifier) {
+        unknownIdentifiers.put(identifier, Boolean.TRUE);
+    }
+
+    /**
+     * Forget negative lookups for identifiers that now belong to an account.
+     *
+     * @param identifiers the username and email of a created or renamed account
+     */
+    public void recordKnown(String... identifiers) {
+        for (String identifier : identifiers) {
+            if (identifier != null) {
+                unknownIdentifiers.invalidate(identifier);
+            }
+        }
+    }
+
+    /**
+     * Restore the identifier's full budget after a successful login.
+     *
+     * @param identifier the submitted username or email
+     */
+    public void recordSuccess(String identifier) {
+        identifierBuckets.invalidate(normalize(identifier));
+    }
+
+    private TokenBucket ipBucket(String clientIp) {
+        return ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerSecond));
+    }
+
+    // Buckets are keyed case-insensitively so case variants share one budget
+    private static String normalize(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double perSecond(Duration refillPeriod) {
+        return 1_000_000_000d / refillPeriod.toNanos();
+    }
+
+    // An idle bucket is full again after capacity * refillPeriod, so it can be dropped then
+    private static Cache<String, TokenBucket> bucketCache(long maxSize, int capacity, Duration refillPeriod) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(refillPeriod.multipliedBy(capacity))
+                .build();
+    }
+
+    private static RateLimitExceededException rateLimited(TokenBucket bucket, String message) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextToken() + 999_999_999L));
+        return new RateLimitExceededException(message, retryAfter);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected before password verification")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
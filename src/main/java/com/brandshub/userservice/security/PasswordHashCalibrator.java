@@ -0,0 +1,130 @@
+package com.brandshub.userservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the versioned password encoder, tuning hash cost to this host at startup.
+ *
+ * <p>Stored hashes carry an algorithm prefix ({@code {bcrypt}} or {@code {argon2}}),
+ * and the encoder embeds its cost parameters in every hash. Any hash whose
+ * algorithm or parameters differ from the current ones reports
+ * {@link PasswordEncoder#upgradeEncoding} as true, which the login flow uses to
+ * rehash the password once it has been verified. Legacy unprefixed BCrypt hashes
+ * are still accepted and upgraded the same way.</p>
+ *
+ * <p>A configured cost of zero means "calibrate": the cost is raised step by step
+ * until one hash exceeds the target latency, and the last cost within budget is
+ * used, never dropping below the secure floor.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Slf4j
+@Component
+public class PasswordHashCalibrator {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MIN_ARGON2_ITERATIONS = 2;
+    private static final int MAX_ARGON2_ITERATIONS = 10;
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int SAMPLES = 3;
+
+    private final String algorithm;
+    private final Duration targetLatency;
+    private final int bcryptStrength;
+    private final int argon2MemoryKib;
+    private final int argon2Iterations;
+    private final int argon2Parallelism;
+
+    public PasswordHashCalibrator(@Value("${password.hashing.algorithm:bcrypt}") String algorithm,
+                                  @Value("${password.hashing.target-latency:PT0.25S}") Duration targetLatency,
+                                  @Value("${password.hashing.bcrypt.strength:0}") int bcryptStrength,
+                                  @Value("${password.hashing.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                  @Value("${password.hashing.argon2.iterations:0}") int argon2Iterations,
+                                  @Value("${password.hashing.argon2.parallelism:1}") int argon2Parallelism) {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.targetLatency = targetLatency;
+        this.bcryptStrength = bcryptStrength;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    /**
+     * Create the delegating encoder, calibrating the active algorithm if no cost is configured.
+     *
+     * <p>Only the algorithm used for new hashes is benchmarked; the other one keeps
+     * its floor cost and is used solely to verify existing hashes.</p>
+     *
+     * @return an encoder that hashes with the active algorithm and verifies either
+     */
+    public PasswordEncoder createEncoder() {
+        int strength = bcryptStrength;
+        int iterations = argon2Iterations;
+        if (BCRYPT.equals(algorithm) && strength <= 0) {
+            strength = calibrate("bcrypt strength", MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH, this::bcrypt);
+        } else if (ARGON2.equals(algorithm) && iterations <= 0) {
+            iterations = calibrate("argon2 iterations", MIN_ARGON2_ITERATIONS, MAX_ARGON2_ITERATIONS, this::argon2);
+        }
+
+        PasswordEncoder bcrypt = bcrypt(Math.max(strength, MIN_BCRYPT_STRENGTH));
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, argon2(Math.max(iterations, MIN_ARGON2_ITERATIONS))));
+        // Hashes written before versioning have no {id} prefix and are all BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    private int calibrate(String parameter, int min, int max, IntFunction<PasswordEncoder> encoderForCost) {
+        long budgetNanos = targetLatency.toNanos();
+        int chosen = min;
+        for (int cost = min; cost <= max; cost++) {
+            long elapsed = measure(encoderForCost.apply(cost));
+            if (elapsed > budgetNanos) {
+                break;
+            }
+            chosen = cost;
+        }
+        log.info("Calibrated {} to {} for a {} ms target", parameter, chosen, targetLatency.toMillis());
+        return chosen;
+    }
+
+    // Fastest of a few runs after a warm-up, to filter out JIT and scheduling noise
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode("calibration-warmup");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-sample");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                argon2Parallelism, argon2MemoryKib, iterations);
+    }
+}
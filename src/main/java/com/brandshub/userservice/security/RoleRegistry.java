@@ -0,0 +1,253 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.entity.RoleBit;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.repository.RoleBitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Assigns each role name a bit in the packed {@code users.role_mask} column.
+ *
+ * <p>Assignments live in {@code role_bits} and are cached in an immutable
+ * snapshot, so translating between names and masks costs no query. A role
+ * seen for the first time is assigned the next free bit in its own
+ * transaction; if another node takes that bit first, the snapshot is reloaded
+ * and the allocation retried. A mask holds at most {@link #MAX_ROLES} roles,
+ * so a bit is only assigned to a well-formed name: an upper-case letter
+ * followed by upper-case letters, digits or underscores.</p>
+ *
+ * <p>A lookup of an unknown name reloads the snapshot, since another node may
+ * have registered it, but at most once per {@code user.roles.miss-reload-interval},
+ * so repeated lookups of a mistyped role cost no query.</p>
+ *
+ * <p>Masks are decoded to sets of names for the domain model. Membership
+ * tests on a mask, such as {@code (role_mask & bit) <> 0} in a query, need
+ * only {@link #bit}.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Slf4j
+@Component
+public class RoleRegistry {
+
+    /** Bits 0 to 62, leaving the sign bit clear so masks stay positive. */
+    public static final int MAX_ROLES = Long.SIZE - 1;
+
+    // Fits role_bits.name; anything else is a typo that must not take one of the bits
+    private static final Pattern ROLE_NAME = Pattern.compile("[A-Z][A-Z0-9_]{0,49}");
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final RoleBitRepository roleBitRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final long missReloadIntervalNanos;
+
+    // Not synchronized: a virtual thread holding a monitor during the query would pin its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public RoleRegistry(RoleBitRepository roleBitRepository, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${user.roles.miss-reload-interval:PT1S}") Duration missReloadInterval) {
+        this.roleBitRepository = roleBitRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.missReloadIntervalNanos = missReloadInterval.toNanos();
+    }
+
+    /**
+     * Look up the bit of a role without registering it.
+     *
+     * @param role the role name
+     * @return the role's single-bit mask, or 0 if no user can have the role yet
+     */
+    public long bit(String role) {
+        Snapshot current = snapshot();
+        Long bit = current.bits().get(role);
+        if (bit == null && isValidName(role) && System.nanoTime() - current.loadedAt() >= missReloadIntervalNanos) {
+            // Another node may have registered it since the last load
+            bit = reloadIfUnchanged(current).bits().get(role);
+        }
+        return bit == null ? 0L : bit;
+    }
+
+    /**
+     * Pack role names into a mask, registering names seen for the first time.
+     *
+     * @param roles the role names
+     * @return the mask with one bit set per role
+     */
+    public long maskOf(Collection<String> roles) {
+        long mask = 0L;
+        for (String role : roles) {
+            mask |= register(role);
+        }
+        return mask;
+    }
+
+    /**
+     * Unpack a mask into role names.
+     *
+     * @param mask the packed roles
+     * @return the role names, in a new mutable set
+     */
+    public Set<String> rolesOf(long mask) {
+        Snapshot current = snapshot();
+        if ((mask & ~current.assigned()) != 0) {
+            current = reload();
+        }
+        Set<String> roles = new HashSet<>();
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            String name = current.names()[Long.numberOfTrailingZeros(remaining)];
+            if (name != null) {
+                roles.add(name);
+            } else {
+                log.warn("Ignoring unassigned role bit {}", Long.numberOfTrailingZeros(remaining));
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Register a role, assigning it the next free bit if it has none.
+     *
+     * @param role the role name
+     * @return the role's single-bit mask
+     * @throws InvalidRequestException if the name is malformed or every bit is taken
+     */
+    public long register(String role) {
+        long bit = bit(role);
+        if (bit != 0) {
+            return bit;
+        }
+        if (!isValidName(role)) {
+            throw new InvalidRequestException("Invalid role name: " + role
+                    + "; use upper-case letters, digits and underscores, starting with a letter");
+        }
+        for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++) {
+            try {
+                newTransaction.executeWithoutResult(status -> {
+                    int next = roleBitRepository.findMaxBit() + 1;
+                    if (next >= MAX_ROLES) {
+                        throw new InvalidRequestException("Cannot register role " + role + ": all "
+                                + MAX_ROLES + " roles are in use");
+                    }
+                    roleBitRepository.saveAndFlush(new RoleBit(next, role));
+                });
+                log.info("Registered role {}", role);
+            } catch (DataIntegrityViolationException ex) {
+                // Lost a race for the bit or the name; the reload below sees the winner
+                log.debug("Concurrent role registration for {}: {}", role, ex.getMessage());
+            }
+            bit = reload().bits().getOrDefault(role, 0L);
+            if (bit != 0) {
+                return bit;
+            }
+        }
+        throw new IllegalStateException("Could not register role " + role);
+    }
+
+    /**
+     * Fill {@code role_mask} for users that only have rows in the legacy {@code user_roles} table.
+     *
+     * <p>Runs once per start and touches only users whose mask is still 0, so
+     * it is a no-op once every user has been migrated.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRoleMasks() {
+        try {
+            Map<Long, Set<String>> pending = new HashMap<>();
+            jdbcTemplate.query("SELECT r.user_id, r.role FROM user_roles r JOIN users u ON u.id = r.user_id "
+                    + "WHERE u.role_mask = 0", rs -> {
+                pending.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getString(2));
+            });
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Object[]> updates = new ArrayList<>(pending.size());
+            pending.forEach((userId, roles) -> updates.add(new Object[] {maskOf(validNames(roles)), userId}));
+            for (int from = 0; from < updates.size(); from += BACKFILL_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("UPDATE users SET role_mask = ? WHERE id = ? AND role_mask = 0",
+                        updates.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, updates.size())));
+            }
+            log.info("Backfilled role masks for {} users", updates.size());
+        } catch (DataAccessException ex) {
+            log.warn("Role mask backfill skipped: {}", ex.getMessage());
+        }
+    }
+
+    private static boolean isValidName(String role) {
+        return role != null && ROLE_NAME.matcher(role).matches();
+    }
+
+    // Legacy rows may hold names that were never validated; they are dropped rather than registered
+    private Set<String> validNames(Set<String> roles) {
+        Set<String> valid = new HashSet<>(roles);
+        if (valid.removeIf(role -> bit(role) == 0 && !isValidName(role))) {
+            log.warn("Dropping malformed legacy roles {}", roles);
+        }
+        return valid;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    // Concurrent misses on the same snapshot share one reload
+    private Snapshot reloadIfUnchanged(Snapshot stale) {
+        reloadLock.lock();
+        try {
+            Snapshot current = snapshot;
+            return current != stale ? current : reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Plain JDBC, because this can run while Hibernate is flushing a User through the converter
+    private Snapshot reload() {
+        reloadLock.lock();
+        try {
+            Map<String, Long> bits = new HashMap<>();
+            String[] names = new String[MAX_ROLES];
+            jdbcTemplate.query("SELECT bit_index, name FROM role_bits", rs -> {
+                bits.put(rs.getString(2), 1L << rs.getInt(1));
+                names[rs.getInt(1)] = rs.getString(2);
+            });
+            long assigned = bits.values().stream().mapToLong(Long::longValue).reduce(0L, (a, b) -> a | b);
+            Snapshot loaded = new Snapshot(Map.copyOf(bits), names, assigned, System.nanoTime());
+            snapshot = loaded;
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private record Snapshot(Map<String, Long> bits, String[] names, long assigned, long loadedAt) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.entity.User;
+
+import java.util.Set;
+
+/**
+ * Identity and authorization data embedded into a newly issued access token.
+ *
+ * @param userId the user ID
+ * @param username the username
+ * @param roles the role names, without the {@code ROLE_} prefix
+ * @param status the account status
+ * @param userType the user type
+ * @param authzVersion the user's authorization version at issue time
+ * @author Brands Hub Team
+ */
+public record TokenSubject(Long userId, String username, Set<String> roles,
+                           User.UserStatus status, User.UserType userType, int authzVersion) {
+
+    /**
+     * Capture the token-relevant state of a user entity.
+     *
+     * @param user the user entity
+     * @return the token subject
+     */
+    public static TokenSubject from(User user) {
+        return new TokenSubject(user.getId(), user.getUsername(), Set.copyOf(user.getRoles()),
+                user.getStatus(), user.getUserType(), user.getAuthzVersion());
+    }
+}
@@ -0,0 +1,102 @@
+package com.brandshub.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of principals built from JWTs that have already passed signature verification.
+ *
+ * <p>Entries are keyed by a SHA-256 digest of the compact token, so raw bearer
+ * tokens are never retained in memory, and each entry expires no later than the
+ * token itself. Hit, miss and eviction counts are published under the
+ * {@code jwt.verified-tokens} cache name.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+    private final long maxTtlNanos;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.cache.max-ttl:PT5M}") Duration maxTtl,
+                              MeterRegistry meterRegistry) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Look up the principal of a previously verified token.
+     *
+     * @param token the compact JWT
+     * @return the cached principal, or null if the token has not been verified recently
+     */
+    public AuthenticatedUser get(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    /**
+     * Remember the principal of a token whose signature has just been verified.
+     *
+     * @param token the compact JWT
+     * @param principal the principal built from the verified claims
+     */
+    public void put(String token, AuthenticatedUser principal) {
+        cache.put(digest(token), principal);
+    }
+
+    /**
+     * Drop every cached entry, forcing full verification on the next request.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on every Java platform
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Expire each entry at the token's own exp claim, capped by the configured max TTL
+    private final class TokenExpiry implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedUser principal, long currentTime) {
+            long remainingNanos = Duration.between(Instant.now(), principal.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(remainingNanos, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedUser principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedUser principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
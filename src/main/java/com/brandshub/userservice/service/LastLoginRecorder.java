@@ -0,0 +1,30 @@
+package com.brandshub.userservice.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for recording user login timestamps off the request path.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface LastLoginRecorder {
+
+    /**
+     * Record a login. The timestamp is persisted asynchronously; if several
+     * logins are recorded for the same user before the next write, only the
+     * latest is kept.
+     * 
+     * @param userId the user ID
+     * @param loginTime the login timestamp
+     */
+    void record(Long userId, LocalDateTime loginTime);
+
+    /**
+     * Persist every buffered timestamp now.
+     * 
+     * @return number of users whose timestamp was written
+     */
+    int flush();
+}
@@ -0,0 +1,61 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.security.TokenSubject;
+
+import java.util.Collection;
+
+/**
+ * Service interface for refresh token issuance and rotation.
+ *
+ * <p>Refresh tokens are opaque, high-entropy strings that are exchanged for a
+ * new access token without re-running password verification. Each exchange
+ * rotates the refresh token; reusing an already-exchanged token revokes every
+ * token descended from the same login.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Issue a refresh token that starts a new token family.
+     *
+     * @param userId the ID of the authenticated user
+     * @return the raw refresh token to hand to the client
+     */
+    String issue(Long userId);
+
+    /**
+     * Exchange a refresh token for a new one in the same family.
+     *
+     * @param refreshToken the raw refresh token presented by the client
+     * @return the new refresh token and the identity it was issued for
+     * @throws com.brandshub.userservice.exception.AuthenticationException if the token is unknown,
+     *         expired, revoked, reused, or belongs to a non-active user
+     */
+    Rotation rotate(String refreshToken);
+
+    /**
+     * Revoke every refresh token issued to a user.
+     *
+     * @param userId the user ID
+     */
+    void revokeAllForUser(Long userId);
+
+    /**
+     * Revoke every refresh token issued to any of the given users.
+     *
+     * @param userIds the user IDs
+     */
+    void revokeAllForUsers(Collection<Long> userIds);
+
+    /**
+     * Result of a successful refresh token rotation.
+     *
+     * @param refreshToken the new raw refresh token
+     * @param subject the current identity and authorization data of the token owner
+     */
+    record Rotation(String refreshToken, TokenSubject subject) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.security.AuthenticatedUser;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Service interface for revoking access tokens before they expire.
+ *
+ * <p>Supports revoking a single token by its {@code jti}, revoking every
+ * token issued to a user up to now, and rejecting tokens that carry an
+ * outdated authorization version. Revocation checks run on every
+ * authenticated request and are answered from memory for tokens that were
+ * never revoked.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revoke a single access token.
+     *
+     * @param jti the token ID
+     * @param userId the ID of the token owner, if known
+     * @param expiresAt the token expiry; the revocation is kept until then
+     */
+    void revokeToken(String jti, Long userId, Instant expiresAt);
+
+    /**
+     * Revoke every access token issued to a user up to now.
+     *
+     * @param userId the user ID
+     */
+    void revokeAllForUser(Long userId);
+
+    /**
+     * Reject every access token of a user whose authorization version is below the given one.
+     *
+     * @param userId the user ID
+     * @param authzVersion the user's new authorization version
+     */
+    void requireAuthzVersion(Long userId, int authzVersion);
+
+    /**
+     * Reject every access token of the given users issued before their current
+     * authorization version. Must be called in the transaction that bumped the
+     * versions, after the bump.
+     *
+     * @param userIds the user IDs
+     */
+    void requireCurrentAuthzVersions(Collection<Long> userIds);
+
+    /**
+     * Check whether the token behind a principal has been revoked.
+     *
+     * @param principal the principal built from a verified access token
+     * @return true if the token must be rejected
+     */
+    boolean isRevoked(AuthenticatedUser principal);
+}
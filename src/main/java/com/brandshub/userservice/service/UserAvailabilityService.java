@@ -0,0 +1,41 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.AvailabilityResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.exception.RateLimitExceededException;
+
+import java.util.Collection;
+
+/**
+ * Service interface for checking whether usernames and emails are still free.
+ * 
+ * <p>Checks are answered from memory for identifiers that were never taken
+ * and confirmed against the database otherwise.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserAvailabilityService {
+
+    /**
+     * Check whether a username and an email could be registered.
+     * 
+     * @param username the username to check, may be null
+     * @param email the email address to check, may be null
+     * @param clientIp the client address, whose per-IP budget the check takes from; may be null when unknown
+     * @return availability of each identifier that was given
+     * @throws InvalidRequestException if neither identifier is given
+     * @throws RateLimitExceededException if the client's budget is exhausted
+     */
+    AvailabilityResponse check(String username, String email, String clientIp);
+
+    /**
+     * Record the usernames and emails of created or changed users as taken,
+     * here and on other nodes. Must be called in the transaction that writes them.
+     * 
+     * @param users the saved users
+     */
+    void recordTaken(Collection<User> users);
+}
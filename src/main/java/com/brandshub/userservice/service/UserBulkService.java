@@ -0,0 +1,49 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserFilter;
+import com.brandshub.userservice.entity.User;
+
+/**
+ * Service interface for set-based updates of many users at once.
+ * 
+ * <p>Each operation walks the users matching a filter in chunks and changes
+ * each chunk with set-based statements in its own transaction; no user is
+ * loaded as an entity. A failure leaves earlier chunks applied, and running
+ * the operation again completes it. Changed users get a new authorization
+ * version, so their existing access tokens are rejected.</p>
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserBulkService {
+
+    /**
+     * Set the status of every matching user.
+     * 
+     * <p>Refresh tokens of users moved out of {@code ACTIVE} are revoked.</p>
+     * 
+     * @param filter the users to update; at least one criterion must be set
+     * @param status the new status
+     * @return number of users whose status changed
+     */
+    long updateStatus(UserFilter filter, User.UserStatus status);
+
+    /**
+     * Grant a role to every matching user.
+     * 
+     * @param filter the users to update; at least one criterion must be set
+     * @param role the role name
+     * @return number of users that did not hold the role before
+     */
+    long addRole(UserFilter filter, String role);
+
+    /**
+     * Revoke a role from every matching user.
+     * 
+     * @param filter the users to update; at least one criterion must be set
+     * @param role the role name
+     * @return number of users that held the role before
+     */
+    long removeRole(UserFilter filter, String role);
+}
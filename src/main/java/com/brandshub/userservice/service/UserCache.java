@@ -0,0 +1,75 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserChange;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Service interface for the node-local cache of user lookups.
+ *
+ * <p>Users are cached once, by ID. Lookups by username or email resolve
+ * through small natural-ID maps to the ID-keyed entry, so a change to a user
+ * is evicted in one place. Every path that writes a user must evict it in the
+ * writing transaction.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserCache {
+
+    /**
+     * Get a user by ID, loading and caching it on a miss.
+     *
+     * @param userId the user ID
+     * @param loader reads the user from the database
+     * @return the user, or empty if the loader found none
+     */
+    Optional<UserResponse> getById(Long userId, Function<Long, Optional<User>> loader);
+
+    /**
+     * Get a user by username, loading and caching it on a miss.
+     *
+     * @param username the username
+     * @param loader reads the user from the database
+     * @return the user, or empty if the loader found none
+     */
+    Optional<UserResponse> getByUsername(String username, Function<String, Optional<User>> loader);
+
+    /**
+     * Get a user by email, loading and caching it on a miss.
+     *
+     * @param email the email address
+     * @param loader reads the user from the database
+     * @return the user, or empty if the loader found none
+     */
+    Optional<UserResponse> getByEmail(String email, Function<String, Optional<User>> loader);
+
+    /**
+     * Evict a user. Inside a transaction the user is evicted again after
+     * completion, so a read of the old row cannot be cached past the commit.
+     *
+     * @param userId the user ID
+     */
+    void evict(Long userId);
+
+    /**
+     * Evict several users, as {@link #evict} does.
+     *
+     * @param userIds the user IDs
+     */
+    void evictAll(Collection<Long> userIds);
+
+    /**
+     * Evict several users and announce the kind of change to other nodes,
+     * so listeners that ignore it are not woken.
+     *
+     * @param userIds the user IDs
+     * @param kind what changed about them
+     */
+    void evictAll(Collection<Long> userIds, UserChange.Kind kind);
+}
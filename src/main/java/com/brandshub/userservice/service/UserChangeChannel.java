@@ -0,0 +1,38 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.UserChange;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for telling other nodes which users have changed.
+ *
+ * <p>The default transport is a table in the user database, see
+ * {@code user.cache.invalidation.transport}. A message broker can be plugged
+ * in by providing another implementation for a different transport value.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserChangeChannel {
+
+    /**
+     * Announce that users changed. Must be called in the transaction that
+     * writes them, so the announcement is rolled back with the write.
+     *
+     * @param userIds the IDs of the changed users
+     * @param kind what changed about them
+     */
+    void publish(Collection<Long> userIds, UserChange.Kind kind);
+
+    /**
+     * Receive batches of user IDs changed by other nodes.
+     *
+     * @param kinds the kinds of change to receive; users with other changes only are left out
+     * @param listener called with each batch, never with an empty one
+     */
+    void subscribe(Set<UserChange.Kind> kinds, Consumer<Collection<Long>> listener);
+}
@@ -0,0 +1,51 @@
+package com.brandshub.userservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk user exports.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserExportService {
+
+    /**
+     * Supported export formats.
+     */
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write every user to the output stream, one row at a time.
+     * 
+     * <p>Heap use is independent of the number of users. The stream is
+     * flushed but not closed.</p>
+     * 
+     * @param format the output format
+     * @param out the destination stream
+     * @return number of exported users
+     * @throws IOException if writing to the stream fails
+     */
+    long exportUsers(Format format, OutputStream out) throws IOException;
+}
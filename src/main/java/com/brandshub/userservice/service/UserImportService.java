@@ -0,0 +1,32 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk user imports.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserImportService {
+
+    /**
+     * Create users from the rows of an NDJSON or CSV stream.
+     * 
+     * <p>The stream is read in chunks, so heap use is bounded by the chunk size
+     * rather than the body. Invalid rows and rows whose username or email is
+     * already taken are reported in the result and skipped. CSV input must start
+     * with a header row naming the {@link com.brandshub.userservice.dto.UserImportRow}
+     * properties; unknown columns are ignored.</p>
+     * 
+     * @param format the input format
+     * @param in the rows to import; read to the end but not closed
+     * @return per-row outcome counts and errors
+     * @throws IOException if reading the stream fails
+     */
+    UserImportResult importUsers(UserExportService.Format format, InputStream in) throws IOException;
+}
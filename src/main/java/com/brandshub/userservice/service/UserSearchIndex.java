@@ -0,0 +1,61 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserSearchGram;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for the trigram search index over user names and companies.
+ * 
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserSearchIndex {
+
+    /**
+     * Index or re-index a user's searchable fields. Must be called in the
+     * transaction that writes the user.
+     * 
+     * @param user the saved user
+     */
+    void index(User user);
+
+    /**
+     * Index users that are not in the index yet, in a single batch. Must be
+     * called in the transaction that inserts the users.
+     * 
+     * @param users the newly saved users
+     */
+    void indexAll(Collection<User> users);
+
+    /**
+     * Remove a user from the index.
+     * 
+     * @param userId the user ID
+     */
+    void remove(Long userId);
+
+    /**
+     * Find users whose field contains every token of the query, best matches first.
+     * 
+     * <p>Tokens match anywhere in a word. A match at the start of a word ranks
+     * higher, and a whole-word match ranks higher still. Tokens shorter than three
+     * characters only match word prefixes.</p>
+     * 
+     * @param field the field group to search
+     * @param query the search text
+     * @param limit maximum number of results
+     * @return matching user IDs in descending relevance
+     */
+    List<Long> search(UserSearchGram.Field field, String query, int limit);
+
+    /**
+     * Rebuild the whole index from the users table.
+     * 
+     * @return number of indexed users
+     */
+    long rebuild();
+}
@@ -1,12 +1,21 @@
 package com.brandshub.userservice.service;
 
+import com.brandshub.userservice.dto.CursorPage;
 import com.brandshub.userservice.dto.LoginRequest;
 import com.brandshub.userservice.dto.LoginResponse;
+import com.brandshub.userservice.dto.RefreshTokenRequest;
+import com.brandshub.userservice.dto.UserField;
+import com.brandshub.userservice.dto.UserPatchRequest;
 import com.brandshub.userservice.dto.UserRegistrationRequest;
 import com.brandshub.userservice.dto.UserResponse;
 import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.AuthenticationException;
+import com.brandshub.userservice.exception.RateLimitExceededException;
+import com.brandshub.userservice.util.KeysetCursor;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service interface for user management operations.
@@ -23,9 +32,13 @@ public interface UserService {
     /**
      * Register a new user in the system.
      * 
+     * <p>Uniqueness is enforced by the database's unique indexes rather than
+     * by prior lookups, so concurrent registrations of the same identity
+     * cannot both succeed.</p>
+     * 
      * @param request the user registration request
      * @return the created user response
-     * @throws RuntimeException if username or email already exists
+     * @throws com.brandshub.userservice.exception.DuplicateResourceException if username or email already exists
      */
     UserResponse registerUser(UserRegistrationRequest request);
 
@@ -33,17 +46,47 @@ public interface UserService {
      * Authenticate a user and generate JWT token.
      * 
      * @param request the login request
+     * @param clientIp the client address used for rate limiting, may be null
      * @return the login response with JWT token
-     * @throws RuntimeException if authentication fails
+     * @throws AuthenticationException if authentication fails
+     * @throws RateLimitExceededException if the identifier or client made too many attempts
+     */
+    LoginResponse login(LoginRequest request, String clientIp);
+
+    /**
+     * Exchange a refresh token for a new access token and a rotated refresh token.
+     * 
+     * @param request the refresh request
+     * @return the login response with the new tokens and no user details
+     * @throws com.brandshub.userservice.exception.AuthenticationException if the refresh token is not valid
+     */
+    LoginResponse refreshToken(RefreshTokenRequest request);
+
+    /**
+     * Log out by revoking a single access token.
+     * 
+     * @param tokenId the {@code jti} of the access token
+     * @param userId the ID of the token owner
+     * @param expiresAt the token expiry
      */
-    LoginResponse login(LoginRequest request);
+    void logout(String tokenId, Long userId, Instant expiresAt);
+
+    /**
+     * Revoke every access and refresh token issued to a user.
+     * 
+     * @param userId the user ID
+     * @throws RuntimeException if user not found
+     */
+    void revokeTokens(Long userId);
 
     /**
      * Get user by ID.
      * 
+     * <p>Served from the node-local user cache when possible.</p>
+     * 
      * @param userId the user ID
      * @return the user response
-     * @throws RuntimeException if user not found
+     * @throws com.brandshub.userservice.exception.UserNotFoundException if user not found
      */
     UserResponse getUserById(Long userId);
 
@@ -52,7 +95,7 @@ public interface UserService {
      * 
      * @param username the username
      * @return the user response
-     * @throws RuntimeException if user not found
+     * @throws com.brandshub.userservice.exception.UserNotFoundException if user not found
      */
     UserResponse getUserByUsername(String username);
 
@@ -61,7 +104,7 @@ public interface UserService {
      * 
      * @param email the email address
      * @return the user response
-     * @throws RuntimeException if user not found
+     * @throws com.brandshub.userservice.exception.UserNotFoundException if user not found
      */
     UserResponse getUserByEmail(String email);
 
@@ -71,10 +114,29 @@ public interface UserService {
      * @param userId the user ID
      * @param request the user update request
      * @return the updated user response
-     * @throws RuntimeException if user not found
+     * @throws com.brandshub.userservice.exception.UserNotFoundException if user not found
+     * @throws com.brandshub.userservice.exception.DuplicateResourceException if the new email belongs to another user
      */
     UserResponse updateUser(Long userId, UserRegistrationRequest request);
 
+    /**
+     * Apply a JSON merge patch to a user profile.
+     * 
+     * <p>Only the fields present in the patch are changed, and only changed
+     * columns are written. The update is rejected if the user has moved past
+     * the expected version, so concurrent edits cannot overwrite each other.</p>
+     * 
+     * @param userId the user ID
+     * @param patch the fields to change
+     * @param expectedVersion the version the client last read, or null to accept any
+     * @return the updated user response, with its new version
+     * @throws com.brandshub.userservice.exception.UserNotFoundException if user not found
+     * @throws com.brandshub.userservice.exception.PreconditionFailedException if the user is not at the expected version
+     * @throws com.brandshub.userservice.exception.DuplicateResourceException if the new email belongs to another user
+     * @throws com.brandshub.userservice.exception.InvalidRequestException if the patch clears a required field
+     */
+    UserResponse patchUser(Long userId, UserPatchRequest patch, Long expectedVersion);
+
     /**
      * Delete a user from the system.
      * 
@@ -84,47 +146,75 @@ public interface UserService {
     void deleteUser(Long userId);
 
     /**
-     * Get all users with optional filtering.
+     * Get one page of all users, newest first.
      * 
-     * @return list of all users
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link KeysetCursor#MAX_PAGE_SIZE}
+     * @param fields the fields to return, or null for all of them
+     * @return the page of users and the token for the next page
      */
-    List<UserResponse> getAllUsers();
+    CursorPage<UserResponse> getAllUsers(String cursor, int size, Set<UserField> fields);
 
     /**
-     * Get users by user type.
+     * Get one page of users by user type, newest first.
      * 
      * @param userType the user type
-     * @return list of users with the specified type
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of users with the specified type
      */
-    List<UserResponse> getUsersByType(User.UserType userType);
+    CursorPage<UserResponse> getUsersByType(User.UserType userType, String cursor, int size);
 
     /**
-     * Get users by status.
+     * Get one page of users by status, newest first.
      * 
      * @param status the user status
-     * @return list of users with the specified status
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of users with the specified status
      */
-    List<UserResponse> getUsersByStatus(User.UserStatus status);
+    CursorPage<UserResponse> getUsersByStatus(User.UserStatus status, String cursor, int size);
 
     /**
-     * Search users by name (first name or last name).
+     * Get one page of users holding a role, newest first.
+     * 
+     * @param role the role name
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link KeysetCursor#MAX_PAGE_SIZE}
+     * @param fields the fields to return, or null for all of them
+     * @return the page of users and the token for the next page
+     */
+    CursorPage<UserResponse> getUsersByRole(String role, String cursor, int size, Set<UserField> fields);
+
+    /**
+     * Search users by first, last or full name, best matches first.
+     * 
+     * <p>Every word of the query must occur in the name. Prefix and whole-word
+     * matches rank above matches inside a word.</p>
      * 
      * @param name the name to search for
-     * @return list of users matching the name criteria
+     * @param limit maximum number of results, capped at 100
+     * @param fields the fields to return, or null for all of them
+     * @return users matching the name criteria in descending relevance
      */
-    List<UserResponse> searchUsersByName(String name);
+    List<UserResponse> searchUsersByName(String name, int limit, Set<UserField> fields);
 
     /**
-     * Search users by company name.
+     * Search users by company name, best matches first.
      * 
      * @param companyName the company name to search for
-     * @return list of users from the specified company
+     * @param limit maximum number of results, capped at 100
+     * @param fields the fields to return, or null for all of them
+     * @return users from matching companies in descending relevance
      */
-    List<UserResponse> searchUsersByCompany(String companyName);
+    List<UserResponse> searchUsersByCompany(String companyName, int limit, Set<UserField> fields);
 
     /**
      * Update user status.
      * 
+     * <p>Invalidates access tokens carrying the old status; moving a user out
+     * of ACTIVE also revokes their refresh tokens.</p>
+     * 
      * @param userId the user ID
      * @param status the new status
      * @return the updated user response
@@ -135,6 +225,8 @@ public interface UserService {
     /**
      * Add role to user.
      * 
+     * <p>Invalidates access tokens carrying the old role set.</p>
+     * 
      * @param userId the user ID
      * @param role the role to add
      * @return the updated user response
@@ -145,6 +237,8 @@ public interface UserService {
     /**
      * Remove role from user.
      * 
+     * <p>Invalidates access tokens carrying the old role set.</p>
+     * 
      * @param userId the user ID
      * @param role the role to remove
      * @return the updated user response
@@ -155,6 +249,8 @@ public interface UserService {
     /**
      * Update user's last login timestamp.
      * 
+     * <p>The timestamp is buffered and written shortly afterwards.</p>
+     * 
      * @param userId the user ID
      * @throws RuntimeException if user not found
      */
@@ -0,0 +1,47 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserStatsResponse;
+import com.brandshub.userservice.entity.User;
+
+/**
+ * Service interface for user counts kept in memory.
+ *
+ * <p>Every path that creates, changes or deletes a user reports the user as
+ * removed from its old counts and added to its new ones. Inside a transaction
+ * the adjustments are held back and applied on commit, so a rolled-back write
+ * leaves the counts untouched. The counts are checked against the database
+ * periodically, which also picks up writes made by other nodes.</p>
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface UserStatistics {
+
+    /**
+     * Get the current counts. Never queries the database.
+     *
+     * @return counts by type, status and role
+     */
+    UserStatsResponse getStats();
+
+    /**
+     * Count a user under its current type, status and roles.
+     *
+     * @param user the created or changed user, after the change
+     */
+    void recordAdded(User user);
+
+    /**
+     * Stop counting a user under its current type, status and roles.
+     *
+     * @param user the deleted or changing user, before the change
+     */
+    void recordRemoved(User user);
+
+    /**
+     * Replace the counts with ones computed by the database, for writes that
+     * bypass {@link #recordAdded} and {@link #recordRemoved}.
+     */
+    void reconcile();
+}
@@ -0,0 +1,181 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.service.UserChangeChannel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * UserChangeChannel backed by the {@code user_changes} table.
+ *
+ * <p>Publishing inserts one row per user with a JDBC batch in the caller's
+ * transaction. Each node polls for rows written by other nodes since its last
+ * watermark, with an overlap for transactions that committed late or nodes
+ * whose clocks drift, and hands each listener the new user IDs of the poll
+ * whose change kind it subscribed to as one batch. Rows seen in an earlier poll are skipped, so the
+ * overlap does not repeat invalidations.</p>
+ *
+ * <p>A change is therefore visible to other nodes within about one poll
+ * interval of its commit. The {@code user.cache.invalidation.lag} timer
+ * records the time from a change to its delivery on this node.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "user.cache.invalidation.transport", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcUserChangeChannel implements UserChangeChannel {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_changes (user_id, origin, changed_at, kind) VALUES (?, ?, ?, ?)";
+    private static final String POLL_SQL =
+            "SELECT id, user_id, changed_at, kind FROM user_changes WHERE changed_at > ? AND origin <> ?";
+    private static final String PURGE_SQL = "DELETE FROM user_changes WHERE changed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration pollOverlap;
+    private final Duration retention;
+    private final String origin = UUID.randomUUID().toString();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final Timer lag;
+    private final Counter received;
+
+    private LocalDateTime watermark = LocalDateTime.now();
+    // Rows delivered by polls whose window still overlaps the next one
+    private Set<Long> delivered = new HashSet<>();
+    // Guards watermark and delivered; held across the poll query
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    public JdbcUserChangeChannel(JdbcTemplate jdbcTemplate,
+                                 @Value("${user.cache.invalidation.poll-overlap:PT30S}") Duration pollOverlap,
+                                 @Value("${user.cache.invalidation.retention:PT1H}") Duration retention,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollOverlap = pollOverlap;
+        this.retention = retention;
+        this.lag = Timer.builder("user.cache.invalidation.lag")
+                .description("Time from a user change on another node to its eviction here")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.received = Counter.builder("user.cache.invalidation.received")
+                .description("User changes received from other nodes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(Collection<Long> userIds, UserChange.Kind kind) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, List.copyOf(userIds), userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, origin);
+            ps.setTimestamp(3, now);
+            ps.setString(4, kind.name());
+        });
+    }
+
+    @Override
+    public void subscribe(Set<UserChange.Kind> kinds, Consumer<Collection<Long>> listener) {
+        subscriptions.add(new Subscription(Set.copyOf(kinds), listener));
+    }
+
+    /**
+     * Deliver changes committed by other nodes since the last poll.
+     *
+     * @return number of users delivered
+     */
+    @Scheduled(fixedDelayString = "${user.cache.invalidation.poll-interval:PT1S}")
+    public int poll() {
+        pollLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime since = watermark.minus(pollOverlap);
+            List<ChangeRow> rows;
+            try {
+                rows = jdbcTemplate.query(POLL_SQL, (rs, rowNum) -> new ChangeRow(rs.getLong(1), rs.getLong(2),
+                                rs.getTimestamp(3).toLocalDateTime(), UserChange.Kind.valueOf(rs.getString(4))),
+                        Timestamp.valueOf(since), origin);
+            } catch (DataAccessException ex) {
+                // The watermark stays put, so the next poll covers this window as well
+                log.warn("Polling user changes failed: {}", ex.getMessage());
+                return 0;
+            }
+            Set<Long> seen = new HashSet<>();
+            List<ChangeRow> fresh = new ArrayList<>();
+            Set<Long> userIds = new HashSet<>();
+            for (ChangeRow row : rows) {
+                seen.add(row.id());
+                if (!delivered.contains(row.id())) {
+                    fresh.add(row);
+                    userIds.add(row.userId());
+                    lag.record(Duration.between(row.changedAt(), now));
+                }
+            }
+            delivered = seen;
+            watermark = now;
+            if (userIds.isEmpty()) {
+                return 0;
+            }
+            received.increment(userIds.size());
+            for (Subscription subscription : subscriptions) {
+                Set<Long> batch = new LinkedHashSet<>();
+                for (ChangeRow row : fresh) {
+                    if (subscription.kinds().contains(row.kind())) {
+                        batch.add(row.userId());
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    subscription.listener().accept(new ArrayList<>(batch));
+                }
+            }
+            log.debug("Delivered changes of {} users from other nodes", userIds.size());
+            return userIds.size();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Delete changes that every node has polled past.
+     */
+    @Scheduled(fixedDelayString = "${user.cache.invalidation.retention:PT1H}")
+    public void purge() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+            log.debug("Purged {} user changes", purged);
+        } catch (DataAccessException ex) {
+            log.warn("Purging user changes failed: {}", ex.getMessage());
+        }
+    }
+
+    private record ChangeRow(long id, long userId, LocalDateTime changedAt, UserChange.Kind kind) {
+    }
+
+    private record Subscription(Set<UserChange.Kind> kinds, Consumer<Collection<Long>> listener) {
+    }
+}
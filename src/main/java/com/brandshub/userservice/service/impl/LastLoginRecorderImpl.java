@@ -0,0 +1,120 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.service.LastLoginRecorder;
+import com.brandshub.userservice.service.UserCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind implementation of LastLoginRecorder.
+ *
+ * <p>Logins only update a concurrent map holding the latest timestamp per
+ * user, so the buffer is bounded by the number of distinct users. A scheduled
+ * task drains the map and writes it with batched JDBC UPDATEs, so many logins
+ * become a few statements per flush interval. The UPDATE never moves a
+ * timestamp backwards. Entries from a failed flush go back into the buffer for
+ * the next attempt. Flushed users are evicted from the user cache as a
+ * last-login change, which other nodes evict from their caches without
+ * refreshing statistics or availability. The buffer is flushed once more on
+ * shutdown.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Slf4j
+public class LastLoginRecorderImpl implements LastLoginRecorder {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserCache userCache;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    // One flush at a time, scheduled or on shutdown
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LastLoginRecorderImpl(JdbcTemplate jdbcTemplate,
+                                 UserCache userCache,
+                                 @Value("${user.last-login.batch-size:500}") int batchSize,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userCache = userCache;
+        this.batchSize = batchSize;
+        this.flushTimer = Timer.builder("user.last-login.flush")
+                .description("Time to write buffered last-login timestamps")
+                .register(meterRegistry);
+        Gauge.builder("user.last-login.pending", pending, Map::size)
+                .description("Users with a last-login timestamp not yet written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, latest) -> latest.isAfter(current) ? latest : current);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval:PT1S}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            // Remove entry by entry so logins recorded during the drain land in the next flush
+            List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+            for (Long userId : pending.keySet()) {
+                LocalDateTime loginTime = pending.remove(userId);
+                if (loginTime != null) {
+                    batch.add(Map.entry(userId, loginTime));
+                }
+            }
+            try {
+                flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, entry) -> {
+                    Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                    ps.setTimestamp(1, loginTime);
+                    ps.setLong(2, entry.getKey());
+                    ps.setTimestamp(3, loginTime);
+                }));
+                userCache.evictAll(batch.stream().map(Map.Entry::getKey).toList(), UserChange.Kind.LAST_LOGIN);
+                log.debug("Flushed last-login timestamps for {} users", batch.size());
+                return batch.size();
+            } catch (DataAccessException ex) {
+                batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+                log.warn("Failed to flush {} last-login timestamps, will retry: {}", batch.size(), ex.getMessage());
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (!pending.isEmpty()) {
+            log.warn("{} last-login timestamps were not written before shutdown", pending.size());
+        } else if (flushed > 0) {
+            log.info("Flushed {} last-login timestamps on shutdown", flushed);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.entity.RevokedToken;
+import com.brandshub.userservice.entity.UserTokenRevocation;
+import com.brandshub.userservice.repository.RevokedTokenRepository;
+import com.brandshub.userservice.repository.UserTokenRevocationRepository;
+import com.brandshub.userservice.security.AuthenticatedUser;
+import com.brandshub.userservice.service.TokenRevocationService;
+import com.brandshub.userservice.util.BloomFilter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of TokenRevocationService fronted by an in-memory Bloom filter.
+ *
+ * <p>The filter holds every unexpired revoked {@code jti} and every user with a
+ * recent revocation cutoff or authorization version bump. A token whose {@code jti} and user are both absent
+ * from the filter is accepted without touching the database; only filter hits
+ * are confirmed against the revocation tables. The filter is kept current by
+ * polling for rows newer than the last watermark (with an overlap for late
+ * commits from other replicas) and is rebuilt from scratch periodically so
+ * expired revocations drop out.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Timed("service.invocations")
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final String JTI_PREFIX = "jti:";
+    private static final String USER_PREFIX = "uid:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration pollOverlap;
+    private final Duration accessTokenLifetime;
+
+    private final Counter negativeChecks;
+    private final Counter falsePositiveChecks;
+    private final Counter revokedChecks;
+
+    private volatile BloomFilter filter;
+    private LocalDateTime watermark;
+    // Serializes rebuilds and polls, which both move the watermark
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                      UserTokenRevocationRepository userTokenRevocationRepository,
+                                      @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                                      @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                      @Value("${jwt.revocation.poll-overlap:PT30S}") Duration pollOverlap,
+                                      @Value("${jwt.expiration}") long jwtExpirationMs,
+                                      MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pollOverlap = pollOverlap;
+        this.accessTokenLifetime = Duration.ofMillis(jwtExpirationMs);
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+
+        this.negativeChecks = checkCounter(meterRegistry, "negative");
+        this.falsePositiveChecks = checkCounter(meterRegistry, "false_positive");
+        this.revokedChecks = checkCounter(meterRegistry, "revoked");
+        Gauge.builder("jwt.revocation.bloom.expected-fpp", this, s -> s.filter.expectedFalsePositiveRate())
+                .description("False-positive rate predicted from the filter fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.observed-fpp", this, TokenRevocationServiceImpl::observedFalsePositiveRate)
+                .description("Fraction of non-revoked tokens that still required a database check")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.entries", this, s -> s.filter.approximateElementCount())
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void revokeToken(String jti, Long userId, Instant expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .userId(userId)
+                .expiresAt(toLocalDateTime(expiresAt))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        filter.put(JTI_PREFIX + jti);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        UserTokenRevocation revocation = userTokenRevocationRepository.findById(userId)
+                .orElseGet(() -> UserTokenRevocation.builder().userId(userId).build());
+        // Tokens carry iat in whole seconds; see issuedBeforeCutoff
+        revocation.setRevokedBefore(now.truncatedTo(ChronoUnit.SECONDS));
+        revocation.setUpdatedAt(now);
+        userTokenRevocationRepository.save(revocation);
+        filter.put(USER_PREFIX + userId);
+    }
+
+    @Override
+    @Transactional
+    public void requireAuthzVersion(Long userId, int authzVersion) {
+        UserTokenRevocation revocation = userTokenRevocationRepository.findById(userId)
+                .orElseGet(() -> UserTokenRevocation.builder().userId(userId).build());
+        if (revocation.getMinAuthzVersion() == null || revocation.getMinAuthzVersion() < authzVersion) {
+            revocation.setMinAuthzVersion(authzVersion);
+        }
+        revocation.setUpdatedAt(LocalDateTime.now());
+        userTokenRevocationRepository.save(revocation);
+        filter.put(USER_PREFIX + userId);
+    }
+
+    @Override
+    @Transactional
+    public void requireCurrentAuthzVersions(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        userTokenRevocationRepository.updateToCurrentAuthzVersions(userIds, now);
+        userTokenRevocationRepository.insertCurrentAuthzVersions(userIds, now);
+        BloomFilter current = filter;
+        userIds.forEach(userId -> current.put(USER_PREFIX + userId));
+    }
+
+    @Override
+    public boolean isRevoked(AuthenticatedUser principal) {
+        BloomFilter current = filter;
+        String jti = principal.getTokenId();
+        boolean jtiHit = jti != null && current.mightContain(JTI_PREFIX + jti);
+        boolean userHit = current.mightContain(USER_PREFIX + principal.getId());
+        if (!jtiHit && !userHit) {
+            negativeChecks.increment();
+            return false;
+        }
+        boolean revoked = (jtiHit && revokedTokenRepository.existsById(jti))
+                || (userHit && invalidatedForUser(principal));
+        (revoked ? revokedChecks : falsePositiveChecks).increment();
+        return revoked;
+    }
+
+    /**
+     * Replace the filter with one built from all revocations that still matter.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT1H}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:PT1H}")
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            BloomFilter fresh = BloomFilter.create(expectedInsertions, falsePositiveRate);
+            revokedTokenRepository.findUnexpiredJtis(now).forEach(jti -> fresh.put(JTI_PREFIX + jti));
+            userTokenRevocationRepository.findUserIdsUpdatedAfter(now.minus(accessTokenLifetime))
+                    .forEach(userId -> fresh.put(USER_PREFIX + userId));
+            filter = fresh;
+            // Revocations committed while the snapshot was read are picked up by the next poll
+            watermark = now;
+            log.debug("Token revocation filter rebuilt with ~{} entries", fresh.approximateElementCount());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Add revocations written since the last poll, including those from other replicas.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:PT5S}")
+    public void pollRevocations() {
+        refreshLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime since = watermark.minus(pollOverlap);
+            BloomFilter current = filter;
+            revokedTokenRepository.findJtisRevokedAfter(since).forEach(jti -> current.put(JTI_PREFIX + jti));
+            userTokenRevocationRepository.findUserIdsUpdatedAfter(since)
+                    .forEach(userId -> current.put(USER_PREFIX + userId));
+            watermark = now;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Delete revocation rows that can no longer match a valid token.
+     */
+    @Scheduled(cron = "${jwt.revocation.cleanup-cron:0 15 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = revokedTokenRepository.deleteExpired(now);
+        int users = userTokenRevocationRepository.deleteOlderThan(now.minus(accessTokenLifetime));
+        log.info("Purged {} expired token revocations and {} user revocation cutoffs", tokens, users);
+    }
+
+    private boolean invalidatedForUser(AuthenticatedUser principal) {
+        return userTokenRevocationRepository.findById(principal.getId())
+                .map(revocation -> issuedBeforeCutoff(principal, revocation)
+                        || (revocation.getMinAuthzVersion() != null
+                            && principal.getAuthzVersion() < revocation.getMinAuthzVersion()))
+                .orElse(false);
+    }
+
+    // iat has one-second precision, so the cutoff is compared in whole seconds: tokens from the second of
+    // the revocation stay valid, which lets a user log in again right after revoking all their sessions
+    private static boolean issuedBeforeCutoff(AuthenticatedUser principal, UserTokenRevocation revocation) {
+        if (revocation.getRevokedBefore() == null) {
+            return false;
+        }
+        return principal.getIssuedAt() == null
+                || toLocalDateTime(principal.getIssuedAt())
+                        .isBefore(revocation.getRevokedBefore().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = falsePositiveChecks.count();
+        double notRevoked = falsePositives + negativeChecks.count();
+        return notRevoked == 0 ? 0.0 : falsePositives / notRevoked;
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jwt.revocation.checks")
+                .description("Access token revocation checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
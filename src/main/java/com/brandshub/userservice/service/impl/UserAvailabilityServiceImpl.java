@@ -0,0 +1,199 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.dto.AvailabilityResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.repository.QueryLimits;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserChangeChannel;
+import com.brandshub.userservice.util.BloomFilter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of UserAvailabilityService fronted by an in-memory Bloom filter.
+ *
+ * <p>The filter holds the lower-cased username and email of every user, as
+ * the database compares them case-insensitively. An identifier absent from the
+ * filter is reported available without a query; a hit is confirmed with an
+ * indexed existence check. Users created or renamed on this node are added as
+ * they are written and announced on the {@link UserChangeChannel}; changes
+ * announced by other nodes are read back by ID and added when they arrive.
+ * The filter is rebuilt periodically so deleted users drop out.</p>
+ *
+ * <p>Each check takes from the client's per-IP budget in the
+ * {@link LoginAttemptGate}, so the endpoint cannot be used to enumerate
+ * accounts faster than logins can.</p>
+ *
+ * <p>Until the first build completes every check goes to the database. A
+ * user registered on another node can be reported available for about one
+ * poll interval; registration itself relies on the unique indexes, so this
+ * never lets a duplicate in.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Timed("service.invocations")
+@Slf4j
+public class UserAvailabilityServiceImpl implements UserAvailabilityService {
+
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private static final String ALL_IDENTITIES_SQL = "SELECT username, email FROM users";
+    private static final String IDENTITIES_BY_ID_SQL = "SELECT username, email FROM users WHERE id IN (:ids)";
+
+    private final UserRepository userRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserChangeChannel changeChannel;
+    private final LoginAttemptGate loginAttemptGate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter negativeChecks;
+    private final Counter falsePositiveChecks;
+    private final Counter takenChecks;
+
+    private volatile BloomFilter filter;
+    // Receives writes while a rebuild scans the table, so they survive the swap
+    private volatile BloomFilter building;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public UserAvailabilityServiceImpl(UserRepository userRepository,
+                                       NamedParameterJdbcTemplate jdbcTemplate,
+                                       UserChangeChannel changeChannel,
+                                       LoginAttemptGate loginAttemptGate,
+                                       @Value("${user.availability.expected-insertions:1000000}") long expectedInsertions,
+                                       @Value("${user.availability.false-positive-rate:0.01}") double falsePositiveRate,
+                                       MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeChannel = changeChannel;
+        this.loginAttemptGate = loginAttemptGate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.negativeChecks = checkCounter(meterRegistry, "negative");
+        this.falsePositiveChecks = checkCounter(meterRegistry, "false_positive");
+        this.takenChecks = checkCounter(meterRegistry, "taken");
+        Gauge.builder("user.availability.bloom.expected-fpp", this,
+                        s -> s.filter == null ? 0.0 : s.filter.expectedFalsePositiveRate())
+                .description("False-positive rate predicted from the filter fill ratio")
+                .register(meterRegistry);
+        // Last-login changes leave usernames and emails as they were
+        changeChannel.subscribe(EnumSet.of(UserChange.Kind.UPDATED), this::addChangedUsers);
+    }
+
+    @Override
+    public AvailabilityResponse check(String username, String email, String clientIp) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new InvalidRequestException("Username or email is required");
+        }
+        loginAttemptGate.acquireLookup(clientIp);
+        return AvailabilityResponse.builder()
+                .usernameAvailable(hasUsername ? isAvailable(USERNAME_PREFIX, username, userRepository::existsByUsername) : null)
+                .emailAvailable(hasEmail ? isAvailable(EMAIL_PREFIX, email, userRepository::existsByEmail) : null)
+                .build();
+    }
+
+    @Override
+    public void recordTaken(Collection<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        users.forEach(user -> put(user.getUsername(), user.getEmail()));
+        changeChannel.publish(users.stream().map(User::getId).toList(), UserChange.Kind.UPDATED);
+    }
+
+    /**
+     * Replace the filter with one built from the users table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user.availability.rebuild-interval:PT1H}",
+            initialDelayString = "${user.availability.rebuild-interval:PT1H}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            BloomFilter fresh = BloomFilter.create(expectedInsertions, falsePositiveRate);
+            building = fresh;
+            try {
+                jdbcTemplate.getJdbcTemplate().query(ALL_IDENTITIES_SQL, rs -> {
+                    fresh.put(key(USERNAME_PREFIX, rs.getString(1)));
+                    fresh.put(key(EMAIL_PREFIX, rs.getString(2)));
+                });
+                filter = fresh;
+                log.debug("Availability filter rebuilt with ~{} entries", fresh.approximateElementCount());
+            } catch (DataAccessException ex) {
+                // Keep answering from the previous filter, or from the database if there is none
+                log.warn("Availability filter rebuild failed: {}", ex.getMessage());
+            } finally {
+                building = null;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isAvailable(String prefix, String value, Predicate<String> existsInDatabase) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key(prefix, value))) {
+            negativeChecks.increment();
+            return true;
+        }
+        boolean taken = existsInDatabase.test(value);
+        (taken ? takenChecks : falsePositiveChecks).increment();
+        return !taken;
+    }
+
+    private void addChangedUsers(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        for (int from = 0; from < ids.size(); from += QueryLimits.MAX_IN_LIST_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + QueryLimits.MAX_IN_LIST_SIZE, ids.size()));
+            jdbcTemplate.query(IDENTITIES_BY_ID_SQL, Map.of("ids", chunk), rs -> {
+                put(rs.getString(1), rs.getString(2));
+            });
+        }
+    }
+
+    private void put(String username, String email) {
+        for (BloomFilter target : new BloomFilter[] {filter, building}) {
+            if (target != null) {
+                target.put(key(USERNAME_PREFIX, username));
+                target.put(key(EMAIL_PREFIX, email));
+            }
+        }
+    }
+
+    private static String key(String prefix, String value) {
+        return prefix + value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.availability.checks")
+                .description("Username and email availability checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,158 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.dto.UserFilter;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.repository.QueryLimits;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.RefreshTokenService;
+import com.brandshub.userservice.service.TokenRevocationService;
+import com.brandshub.userservice.service.UserBulkService;
+import com.brandshub.userservice.service.UserCache;
+import com.brandshub.userservice.service.UserStatistics;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Implementation of UserBulkService using chunked set-based statements.
+ *
+ * <p>Each chunk selects the next IDs that match the filter and still need the
+ * change, then updates them with one {@code UPDATE}, keeps the legacy role
+ * table in step with one {@code INSERT ... SELECT} or {@code DELETE}, and
+ * raises the token cutoffs of the same users, then evicts them from the user
+ * cache. Chunks commit separately, so
+ * locks are held briefly and a large update does not grow one transaction.
+ * IDs only increase from chunk to chunk, so each user is visited once.</p>
+ *
+ * <p>The statements do not load the users, so the user statistics are
+ * reconciled with the database once an update has changed anyone.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Timed("service.invocations")
+@Slf4j
+public class UserBulkServiceImpl implements UserBulkService {
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserCache userCache;
+    private final UserStatistics userStatistics;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    public UserBulkServiceImpl(UserRepository userRepository,
+                               RoleRegistry roleRegistry,
+                               TokenRevocationService tokenRevocationService,
+                               RefreshTokenService refreshTokenService,
+                               UserCache userCache,
+                               UserStatistics userStatistics,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${user.bulk.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.userCache = userCache;
+        this.userStatistics = userStatistics;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, Math.min(chunkSize, QueryLimits.MAX_IN_LIST_SIZE));
+    }
+
+    @Override
+    public long updateStatus(UserFilter filter, User.UserStatus status) {
+        requireCriteria(filter);
+        long updated = inChunks(
+                afterId -> userRepository.findIdsForStatusChange(filter, status, afterId, chunkSize),
+                ids -> {
+                    int changed = userRepository.updateStatusByIdIn(ids, status, LocalDateTime.now());
+                    if (status != User.UserStatus.ACTIVE) {
+                        refreshTokenService.revokeAllForUsers(ids);
+                    }
+                    return changed;
+                });
+        log.info("Bulk status update to {} changed {} users", status, updated);
+        return updated;
+    }
+
+    @Override
+    public long addRole(UserFilter filter, String role) {
+        requireCriteria(filter);
+        long roleBit = roleRegistry.register(role);
+        long updated = inChunks(
+                afterId -> userRepository.findIdsForRoleChange(filter, roleBit, false, afterId, chunkSize),
+                ids -> {
+                    int changed = userRepository.addRoleBitByIdIn(ids, roleBit, LocalDateTime.now());
+                    userRepository.insertLegacyRoleByIdIn(ids, role);
+                    return changed;
+                });
+        log.info("Bulk grant of role {} changed {} users", role, updated);
+        return updated;
+    }
+
+    @Override
+    public long removeRole(UserFilter filter, String role) {
+        requireCriteria(filter);
+        long roleBit = roleRegistry.bit(role);
+        if (roleBit == 0) {
+            // Never registered, so nobody holds it
+            return 0;
+        }
+        long updated = inChunks(
+                afterId -> userRepository.findIdsForRoleChange(filter, roleBit, true, afterId, chunkSize),
+                ids -> {
+                    int changed = userRepository.removeRoleBitByIdIn(ids, roleBit, ~roleBit, LocalDateTime.now());
+                    userRepository.deleteLegacyRoleByIdIn(ids, role);
+                    return changed;
+                });
+        log.info("Bulk revocation of role {} changed {} users", role, updated);
+        return updated;
+    }
+
+    private long inChunks(LongFunction<List<Long>> nextIds, ToIntFunction<List<Long>> update) {
+        long updated = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Chunk chunk = transaction.execute(status -> {
+                List<Long> ids = nextIds.apply(from);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                int changed = update.applyAsInt(ids);
+                tokenRevocationService.requireCurrentAuthzVersions(ids);
+                userCache.evictAll(ids);
+                return new Chunk(ids.get(ids.size() - 1), changed);
+            });
+            if (chunk == null) {
+                if (updated > 0) {
+                    userStatistics.reconcile();
+                }
+                return updated;
+            }
+            updated += chunk.changed();
+            afterId = chunk.lastId();
+        }
+    }
+
+    private static void requireCriteria(UserFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new InvalidRequestException("Filter must set at least one criterion");
+        }
+    }
+
+    private record Chunk(long lastId, int changed) {
+    }
+}
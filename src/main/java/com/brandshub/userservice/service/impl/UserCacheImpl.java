@@ -0,0 +1,204 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.dto.UserResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.service.UserCache;
+import com.brandshub.userservice.service.UserChangeChannel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine implementation of UserCache.
+ *
+ * <p>Caffeine's W-TinyLFU eviction keeps the frequently read users resident
+ * while one-off reads, such as an admin paging through old accounts, pass
+ * through without displacing them.</p>
+ *
+ * <p>Evictions are published on the {@link UserChangeChannel} in the writing
+ * transaction, and changes published by other nodes are evicted here as they
+ * arrive. Entries also expire after {@code user.cache.ttl} as a backstop for
+ * changes that never reach the channel.</p>
+ *
+ * <p>The username and email maps only hold IDs. A hit is confirmed against the
+ * cached user, so a stale mapping after a rename falls through to the
+ * database instead of returning the wrong user.</p>
+ *
+ * <p>A load that overlaps an eviction is not kept: every eviction bumps a
+ * counter, and a loaded user is dropped again if the counter moved while it
+ * was being read. Loads of a user evicted less than
+ * {@code user.cache.replica-grace} ago are not kept either, as a lagging read
+ * replica may still return the old row. Cached responses are shared between callers and must not be
+ * modified. Hit, miss and eviction counts are published under the
+ * {@code users.by-id}, {@code users.id-by-username} and
+ * {@code users.id-by-email} cache names.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+public class UserCacheImpl implements UserCache {
+
+    private final Cache<Long, UserResponse> usersById;
+    private final Cache<String, Long> idsByUsername;
+    private final Cache<String, Long> idsByEmail;
+    private final UserChangeChannel changeChannel;
+    private final AtomicLong evictions = new AtomicLong();
+    // Users evicted within the replica grace period; null when there is no grace period
+    private final Cache<Long, Boolean> recentlyEvicted;
+
+    public UserCacheImpl(@Value("${user.cache.max-size:10000}") long maxSize,
+                         @Value("${user.cache.ttl:PT10M}") Duration ttl,
+                         @Value("${user.cache.replica-grace:PT0S}") Duration replicaGrace,
+                         UserChangeChannel changeChannel,
+                         MeterRegistry meterRegistry) {
+        this.changeChannel = changeChannel;
+        this.usersById = newCache(maxSize, ttl);
+        this.idsByUsername = newCache(maxSize, ttl);
+        this.idsByEmail = newCache(maxSize, ttl);
+        this.recentlyEvicted = replicaGrace.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(replicaGrace)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "users.id-by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.id-by-email");
+        changeChannel.subscribe(EnumSet.allOf(UserChange.Kind.class), this::invalidate);
+    }
+
+    @Override
+    public Optional<UserResponse> getById(Long userId, Function<Long, Optional<User>> loader) {
+        UserResponse cached = usersById.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> loader.apply(userId), null, null);
+    }
+
+    @Override
+    public Optional<UserResponse> getByUsername(String username, Function<String, Optional<User>> loader) {
+        UserResponse cached = resolve(idsByUsername, username, UserResponse::getUsername);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> loader.apply(username), username, null);
+    }
+
+    @Override
+    public Optional<UserResponse> getByEmail(String email, Function<String, Optional<User>> loader) {
+        UserResponse cached = resolve(idsByEmail, email, UserResponse::getEmail);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> loader.apply(email), null, email);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        evictAll(List.of(userId));
+    }
+
+    @Override
+    public void evictAll(Collection<Long> userIds) {
+        evictAll(userIds, UserChange.Kind.UPDATED);
+    }
+
+    @Override
+    public void evictAll(Collection<Long> userIds, UserChange.Kind kind) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        invalidate(userIds);
+        changeChannel.publish(userIds, kind);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Readers can still load the old row until the writer commits
+            List<Long> ids = List.copyOf(userIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(ids);
+                }
+            });
+        }
+    }
+
+    private UserResponse resolve(Cache<String, Long> ids, String key, Function<UserResponse, String> naturalId) {
+        Long userId = ids.getIfPresent(key);
+        if (userId == null) {
+            return null;
+        }
+        UserResponse cached = usersById.getIfPresent(userId);
+        return cached != null && key.equalsIgnoreCase(naturalId.apply(cached)) ? cached : null;
+    }
+
+    // The lookup key is mapped as well, as the database may match it case-insensitively
+    private Optional<UserResponse> load(Supplier<Optional<User>> loader, String usernameKey, String emailKey) {
+        long stamp = evictions.get();
+        Optional<UserResponse> loaded = loader.get().map(UserCacheImpl::snapshot);
+        loaded.ifPresent(user -> {
+            usersById.put(user.getId(), user);
+            map(idsByUsername, user.getUsername(), user.getId());
+            map(idsByUsername, usernameKey, user.getId());
+            map(idsByEmail, user.getEmail(), user.getId());
+            map(idsByEmail, emailKey, user.getId());
+            if (evictions.get() != stamp) {
+                // An eviction ran while the row was read; it may predate the write we just cached
+                usersById.invalidate(user.getId());
+            } else if (recentlyEvicted != null && recentlyEvicted.getIfPresent(user.getId()) != null) {
+                // The row may have come from a replica that has not applied the write yet
+                usersById.invalidate(user.getId());
+            }
+        });
+        return loaded;
+    }
+
+    // Bump the counter before dropping entries, so a concurrent load either sees the bump or is dropped here
+    private void invalidate(Collection<Long> userIds) {
+        evictions.incrementAndGet();
+        for (Long userId : userIds) {
+            if (recentlyEvicted != null) {
+                recentlyEvicted.put(userId, Boolean.TRUE);
+            }
+            UserResponse cached = usersById.getIfPresent(userId);
+            usersById.invalidate(userId);
+            if (cached != null) {
+                idsByUsername.invalidate(cached.getUsername());
+                idsByEmail.invalidate(cached.getEmail());
+            }
+        }
+    }
+
+    private static void map(Cache<String, Long> ids, String key, Long userId) {
+        if (key != null) {
+            ids.put(key, userId);
+        }
+    }
+
+    private static UserResponse snapshot(User user) {
+        UserResponse response = UserResponse.from(user);
+        response.setRoles(Set.copyOf(user.getRoles()));
+        return response;
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
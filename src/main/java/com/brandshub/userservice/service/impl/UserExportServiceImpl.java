@@ -0,0 +1,125 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.dto.UserResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.service.UserExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of UserExportService streaming rows straight from a database cursor.
+ *
+ * <p>Users are read through a forward-only stream in driver fetch-size chunks
+ * inside a read-only transaction, written, and detached immediately, so neither
+ * the persistence context nor the output buffer grows with the table. The
+ * connection is held only while rows are being transferred.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Leading characters that make spreadsheets evaluate a cell as a formula
+    private static final String CSV_FORMULA_TRIGGERS = "=+-@\t\r";
+    private static final String CSV_HEADER = "id,username,email,firstName,lastName,companyName,phoneNumber,"
+            + "userType,status,roles,createdAt,updatedAt,lastLogin";
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // Keep Jackson from closing or flushing the shared writer after each row, so rows leave in buffer-sized chunks
+        ObjectWriter jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withoutFeatures(JsonGenerator.Feature.AUTO_CLOSE_TARGET, JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAllForExport()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, user);
+                } else {
+                    jsonWriter.writeValue(writer, UserResponse.from(user));
+                    writer.write('\n');
+                }
+                entityManager.detach(user);
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} users as {}", count, format);
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, User user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writeCsvField(writer, user.getUsername());
+        writeCsvField(writer, user.getEmail());
+        writeCsvField(writer, user.getFirstName());
+        writeCsvField(writer, user.getLastName());
+        writeCsvField(writer, user.getCompanyName());
+        writeCsvField(writer, user.getPhoneNumber());
+        writeCsvField(writer, user.getUserType() != null ? user.getUserType().name() : null);
+        writeCsvField(writer, user.getStatus() != null ? user.getStatus().name() : null);
+        writeCsvField(writer, String.join(";", user.getRoles().stream().sorted().toList()));
+        writeCsvField(writer, format(user.getCreatedAt()));
+        writeCsvField(writer, format(user.getUpdatedAt()));
+        writeCsvField(writer, format(user.getLastLogin()));
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks, doubling embedded quotes.
+    // Values that would start a formula are prefixed with an apostrophe, so they open as text.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && CSV_FORMULA_TRIGGERS.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+}
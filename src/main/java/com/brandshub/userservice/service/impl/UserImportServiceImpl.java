@@ -0,0 +1,400 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.dto.UserImportResult;
+import com.brandshub.userservice.dto.UserImportRow;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.exception.ServiceOverloadedException;
+import com.brandshub.userservice.repository.QueryLimits;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserExportService;
+import com.brandshub.userservice.service.UserImportService;
+import com.brandshub.userservice.service.UserSearchIndex;
+import com.brandshub.userservice.service.UserStatistics;
+import com.brandshub.userservice.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of UserImportService inserting users in chunked JDBC batches.
+ *
+ * <p>Rows are parsed one at a time and processed in chunks. For each chunk,
+ * rows are validated, checked for duplicates against the rest of the import
+ * and against the database with a single query, hashed in parallel, and
+ * inserted in one transaction. Sequence-generated ids let Hibernate send the
+ * inserts as JDBC batches of {@code hibernate.jdbc.batch_size}.</p>
+ *
+ * <p>Hashing uses the calibrated encoder on a dedicated pool rather than the
+ * bounded request-path pool, so an import cannot make logins shed load. It
+ * still competes with logins for CPU; lower {@code user.import.hashing-threads}
+ * to leave headroom. At the calibrated cost, hashing dominates import time;
+ * rows that carry an existing {@code passwordHash} skip it.</p>
+ *
+ * <p>If a chunk insert hits a unique constraint, for example because a user
+ * registered concurrently, the chunk is retried row by row so only the
+ * conflicting rows fail. One import runs at a time per node.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Timed("service.invocations")
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Pattern ENCODED_PASSWORD = Pattern.compile("^\\{(bcrypt|argon2)}.+");
+
+    private final UserRepository userRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserStatistics userStatistics;
+    private final LoginAttemptGate loginAttemptGate;
+    private final PasswordEncoder passwordHasher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final ExecutorService hashingExecutor;
+    private final Semaphore running = new Semaphore(1);
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 UserSearchIndex userSearchIndex,
+                                 UserAvailabilityService userAvailabilityService,
+                                 UserStatistics userStatistics,
+                                 LoginAttemptGate loginAttemptGate,
+                                 @Qualifier("passwordHasher") PasswordEncoder passwordHasher,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user.import.chunk-size:500}") int chunkSize,
+                                 @Value("${user.import.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.userSearchIndex = userSearchIndex;
+        this.userAvailabilityService = userAvailabilityService;
+        this.userStatistics = userStatistics;
+        this.loginAttemptGate = loginAttemptGate;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // The duplicate check binds each row's username and email into two IN lists
+        this.chunkSize = Math.max(1, Math.min(chunkSize, QueryLimits.MAX_IN_LIST_SIZE));
+        // Zero means one hashing thread per available core
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.importedRows = Counter.builder("user.import.rows")
+                .description("Rows processed by bulk user imports")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("user.import.rows")
+                .description("Rows processed by bulk user imports")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserImportResult importUsers(UserExportService.Format format, InputStream in) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new ServiceOverloadedException("Another user import is already running");
+        }
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            ImportRun run = new ImportRun();
+            if (format == UserExportService.Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+            importChunk(run);
+            importedRows.increment(run.imported);
+            failedRows.increment(run.errors.size());
+            run.errors.sort(Comparator.comparingLong(UserImportResult.RowError::getLine));
+            log.info("Imported {} of {} users, {} rows rejected", run.imported, run.total, run.errors.size());
+            return UserImportResult.builder()
+                    .total(run.total)
+                    .imported(run.imported)
+                    .failed(run.errors.size())
+                    .errors(run.errors)
+                    .build();
+        } finally {
+            running.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                add(run, lineNumber, objectMapper.readValue(line, UserImportRow.class));
+            } catch (JsonProcessingException ex) {
+                run.total++;
+                run.reject(lineNumber, null, "Malformed row: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (InvalidRequestException ex) {
+            throw new InvalidRequestException("Malformed CSV header: " + ex.getMessage());
+        }
+        if (header == null) {
+            return;
+        }
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (InvalidRequestException ex) {
+                // The open quote swallowed the rest of the body, so nothing after it can be read
+                run.total++;
+                run.reject(csv.getRecordLine(), null, ex.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            if (record.size() != header.size()) {
+                run.total++;
+                run.reject(csv.getRecordLine(), null,
+                        "Expected " + header.size() + " fields but found " + record.size());
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                if (!record.get(i).isEmpty()) {
+                    values.put(header.get(i).trim(), record.get(i));
+                }
+            }
+            try {
+                add(run, csv.getRecordLine(), objectMapper.convertValue(values, UserImportRow.class));
+            } catch (IllegalArgumentException ex) {
+                run.total++;
+                run.reject(csv.getRecordLine(), values.get("username"), "Malformed row: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void add(ImportRun run, long line, UserImportRow row) {
+        run.total++;
+        run.chunk.add(new ParsedRow(line, row));
+        if (run.chunk.size() >= chunkSize) {
+            importChunk(run);
+        }
+    }
+
+    private void importChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<ParsedRow> valid = new ArrayList<>(run.chunk.size());
+        for (ParsedRow parsed : run.chunk) {
+            String error = validate(parsed.row());
+            if (error != null) {
+                run.reject(parsed, error);
+            } else if (run.usernames.contains(parsed.row().getUsername())) {
+                run.reject(parsed, "Duplicate username in import");
+            } else if (run.emails.contains(parsed.row().getEmail())) {
+                run.reject(parsed, "Duplicate email in import");
+            } else {
+                run.usernames.add(parsed.row().getUsername());
+                run.emails.add(parsed.row().getEmail());
+                valid.add(parsed);
+            }
+        }
+        run.chunk.clear();
+        valid = rejectExisting(valid, run);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<User> users = hashAndBuild(valid);
+        try {
+            transaction.executeWithoutResult(status -> insert(users));
+            users.forEach(user -> loginAttemptGate.recordKnown(user.getUsername(), user.getEmail()));
+            run.imported += users.size();
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Chunk insert conflicted, retrying {} rows one by one: {}", users.size(), ex.getMessage());
+            insertOneByOne(valid, users, run);
+        }
+    }
+
+    private String validate(UserImportRow row) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (row.getPassword() == null && row.getPasswordHash() == null) {
+            return "Password or password hash is required";
+        }
+        if (row.getPassword() == null && !ENCODED_PASSWORD.matcher(row.getPasswordHash()).matches()) {
+            return "Password hash must be an {bcrypt} or {argon2} encoded hash";
+        }
+        return null;
+    }
+
+    private List<ParsedRow> rejectExisting(List<ParsedRow> rows, ImportRun run) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ParsedRow parsed : rows) {
+            usernames.add(parsed.row().getUsername());
+            emails.add(parsed.row().getEmail());
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserRepository.IdentityRow identity : userRepository.findIdentities(usernames, emails)) {
+            takenUsernames.add(identity.getUsername());
+            takenEmails.add(identity.getEmail());
+        }
+        if (takenUsernames.isEmpty()) {
+            return rows;
+        }
+        List<ParsedRow> fresh = new ArrayList<>(rows.size());
+        for (ParsedRow parsed : rows) {
+            if (takenUsernames.contains(parsed.row().getUsername())) {
+                run.reject(parsed, "Username already exists");
+            } else if (takenEmails.contains(parsed.row().getEmail())) {
+                run.reject(parsed, "Email already exists");
+            } else {
+                fresh.add(parsed);
+            }
+        }
+        return fresh;
+    }
+
+    private List<User> hashAndBuild(List<ParsedRow> rows) {
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(ParsedRow::row)
+                .map(row -> row.getPassword() != null
+                        ? CompletableFuture.supplyAsync(() -> passwordHasher.encode(row.getPassword()), hashingExecutor)
+                        : CompletableFuture.completedFuture(row.getPasswordHash()))
+                .toList();
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportRow row = rows.get(i).row();
+            users.add(User.builder()
+                    .username(row.getUsername())
+                    .email(row.getEmail())
+                    .password(hashes.get(i).join())
+                    .firstName(row.getFirstName())
+                    .lastName(row.getLastName())
+                    .companyName(row.getCompanyName())
+                    .phoneNumber(row.getPhoneNumber())
+                    .userType(row.getUserType() != null ? row.getUserType() : User.UserType.EXTERNAL)
+                    .status(User.UserStatus.ACTIVE)
+                    .roles(Set.of("USER"))
+                    .build());
+        }
+        return users;
+    }
+
+    private void insert(List<User> users) {
+        userRepository.saveAll(users);
+        // Flush so the ids and rows exist before the search index references them
+        userRepository.flush();
+        userSearchIndex.indexAll(users);
+        userAvailabilityService.recordTaken(users);
+        users.forEach(userStatistics::recordAdded);
+    }
+
+    private void insertOneByOne(List<ParsedRow> rows, List<User> users, ImportRun run) {
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            // The rolled-back chunk already assigned an id
+            user.setId(null);
+            try {
+                transaction.executeWithoutResult(status -> insert(List.of(user)));
+                loginAttemptGate.recordKnown(user.getUsername(), user.getEmail());
+                run.imported++;
+            } catch (DataIntegrityViolationException ex) {
+                run.reject(rows.get(i), "Username or email already exists");
+            }
+        }
+    }
+
+    private record ParsedRow(long line, UserImportRow row) {
+    }
+
+    private static final class ImportRun {
+        private final List<ParsedRow> chunk = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private final List<UserImportResult.RowError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+
+        private void reject(ParsedRow parsed, String message) {
+            reject(parsed.line(), parsed.row().getUsername(), message);
+        }
+
+        private void reject(long line, String username, String message) {
+            errors.add(UserImportResult.RowError.builder()
+                    .line(line)
+                    .username(username)
+                    .message(message)
+                    .build());
+        }
+    }
+}
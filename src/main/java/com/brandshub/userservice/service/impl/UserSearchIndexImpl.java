@@ -0,0 +1,191 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserSearchGram;
+import com.brandshub.userservice.service.UserSearchIndex;
+import com.brandshub.userservice.util.NGrams;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of UserSearchIndex storing trigrams in {@code user_search_grams}.
+ *
+ * <p>A search looks up the query's trigrams through the {@code (field, gram)}
+ * index, keeps users that contain every required gram, and ranks them by the
+ * total number of matched grams. No step scans the users table. Trigram
+ * matching can produce rare false positives, where every gram occurs but not
+ * next to each other, so callers confirm candidates with
+ * {@link NGrams#matches}.</p>
+ *
+ * <p>The index is written through JDBC batches in the caller's transaction.
+ * On startup, users with no grams yet are backfilled from the users table,
+ * one committed chunk at a time, so an interrupted backfill resumes where it
+ * stopped on the next start.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Slf4j
+public class UserSearchIndexImpl implements UserSearchIndex {
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_search_grams (user_id, field, gram) VALUES (:userId, :field, :gram)";
+    private static final String DELETE_SQL = "DELETE FROM user_search_grams WHERE user_id = :userId";
+    private static final String SEARCH_SQL = """
+            SELECT g.user_id
+            FROM user_search_grams g
+            WHERE g.field = :field AND g.gram IN (:grams)
+            GROUP BY g.user_id
+            HAVING SUM(CASE WHEN g.gram IN (:required) THEN 1 ELSE 0 END) = :requiredCount
+            ORDER BY COUNT(*) DESC, g.user_id DESC
+            OFFSET 0 ROWS FETCH NEXT :limit ROWS ONLY""";
+    private static final String USERS_CHUNK_SQL = """
+            SELECT id, first_name, last_name, company_name
+            FROM users
+            WHERE id > :afterId
+            ORDER BY id
+            OFFSET 0 ROWS FETCH NEXT :limit ROWS ONLY""";
+    private static final String UNINDEXED_USERS_CHUNK_SQL = """
+            SELECT id, first_name, last_name, company_name
+            FROM users u
+            WHERE id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM user_search_grams g WHERE g.user_id = u.id)
+            ORDER BY id
+            OFFSET 0 ROWS FETCH NEXT :limit ROWS ONLY""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public UserSearchIndexImpl(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void index(User user) {
+        jdbcTemplate.update(DELETE_SQL, Map.of("userId", user.getId()));
+        insert(List.of(new SearchableUser(user.getId(), user.getFirstName(), user.getLastName(), user.getCompanyName())));
+    }
+
+    @Override
+    public void indexAll(Collection<User> users) {
+        insert(users.stream()
+                .map(user -> new SearchableUser(user.getId(), user.getFirstName(), user.getLastName(), user.getCompanyName()))
+                .toList());
+    }
+
+    @Override
+    public void remove(Long userId) {
+        jdbcTemplate.update(DELETE_SQL, Map.of("userId", userId));
+    }
+
+    @Override
+    public List<Long> search(UserSearchGram.Field field, String query, int limit) {
+        NGrams.Query grams = NGrams.query(query);
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        Set<String> all = new HashSet<>(grams.required());
+        all.addAll(grams.boost());
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("field", field.name())
+                .addValue("grams", all)
+                .addValue("required", grams.required())
+                .addValue("requiredCount", grams.required().size())
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(SEARCH_SQL, params, Long.class);
+    }
+
+    @Override
+    public long rebuild() {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM user_search_grams");
+        long indexed = indexChunks(USERS_CHUNK_SQL);
+        log.info("Rebuilt search index for {} users", indexed);
+        return indexed;
+    }
+
+    /**
+     * Index users missing from the index, such as all users on the first
+     * start against an existing users table, or those left by an interrupted
+     * backfill or rebuild.
+     *
+     * @return number of indexed users
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public long backfill() {
+        try {
+            long indexed = indexChunks(UNINDEXED_USERS_CHUNK_SQL);
+            if (indexed > 0) {
+                log.info("Backfilled search index for {} users", indexed);
+            }
+            return indexed;
+        } catch (DataAccessException ex) {
+            // Committed chunks stay indexed; the next start picks up the rest
+            log.warn("Search index backfill stopped: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    // Each chunk commits on its own, so a user is either fully indexed or not at all
+    private long indexChunks(String chunkSql) {
+        long indexed = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<SearchableUser> users = transaction.execute(status -> {
+                List<SearchableUser> chunk = jdbcTemplate.query(chunkSql,
+                        Map.of("afterId", from, "limit", REBUILD_CHUNK_SIZE),
+                        (rs, rowNum) -> new SearchableUser(rs.getLong("id"), rs.getString("first_name"),
+                                rs.getString("last_name"), rs.getString("company_name")));
+                insert(chunk);
+                return chunk;
+            });
+            if (users.isEmpty()) {
+                return indexed;
+            }
+            indexed += users.size();
+            afterId = users.get(users.size() - 1).id();
+        }
+    }
+
+    private void insert(List<SearchableUser> users) {
+        List<SqlParameterSource> rows = new ArrayList<>();
+        for (SearchableUser user : users) {
+            // Full name is first + last, so its tokens are already covered
+            addRows(rows, user.id(), UserSearchGram.Field.NAME, NGrams.indexGrams(user.firstName(), user.lastName()));
+            addRows(rows, user.id(), UserSearchGram.Field.COMPANY, NGrams.indexGrams(user.companyName()));
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private static void addRows(List<SqlParameterSource> rows, Long userId, UserSearchGram.Field field, Set<String> grams) {
+        for (String gram : grams) {
+            rows.add(new MapSqlParameterSource()
+                    .addValue("userId", userId)
+                    .addValue("field", field.name())
+                    .addValue("gram", gram));
+        }
+    }
+
+    private record SearchableUser(Long id, String firstName, String lastName, String companyName) {
+    }
+}
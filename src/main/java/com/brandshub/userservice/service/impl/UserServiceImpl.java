@@ -2,20 +2,51 @@ package com.brandshub.userservice.service.impl;
 
 import com.brandshub.userservice.dto.*;
 import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserSearchGram;
+import com.brandshub.userservice.exception.AuthenticationException;
+import com.brandshub.userservice.exception.DuplicateResourceException;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.exception.PreconditionFailedException;
+import com.brandshub.userservice.exception.ServiceOverloadedException;
+import com.brandshub.userservice.exception.UserNotFoundException;
 import com.brandshub.userservice.repository.UserRepository;
 import com.brandshub.userservice.security.JwtTokenProvider;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.security.TokenSubject;
+import com.brandshub.userservice.service.LastLoginRecorder;
+import com.brandshub.userservice.service.RefreshTokenService;
+import com.brandshub.userservice.service.TokenRevocationService;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserCache;
+import com.brandshub.userservice.service.UserSearchIndex;
+import com.brandshub.userservice.service.UserStatistics;
 import com.brandshub.userservice.service.UserService;
-import jakarta.transaction.Transactional;
+import com.brandshub.userservice.util.KeysetCursor;
+import com.brandshub.userservice.util.NGrams;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,24 +55,30 @@ import java.util.stream.Collectors;
  * @author Brands Hub Team
  */
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final LoginAttemptGate loginAttemptGate;
+    private final UserSearchIndex userSearchIndex;
+    private final RoleRegistry roleRegistry;
+    private final UserCache userCache;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserStatistics userStatistics;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private final PasswordEncoder passwordEncoder;
 
     @Override
     @Transactional
     public UserResponse registerUser(UserRegistrationRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-        // Encode password before saving
+        // No existence pre-checks: the unique indexes decide, which also settles concurrent registrations
         String encodedPassword = passwordEncoder.encode(request.getPassword());
         User user = User.builder()
                 .username(request.getUsername())
@@ -55,61 +92,187 @@ public class UserServiceImpl implements UserService {
                 .status(User.UserStatus.ACTIVE)
                 .roles(Set.of("USER"))
                 .build();
-        User saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateIdentity(ex);
+        }
+        userSearchIndex.index(saved);
+        userAvailabilityService.recordTaken(List.of(saved));
+        userStatistics.recordAdded(saved);
+        loginAttemptGate.recordKnown(saved.getUsername(), saved.getEmail());
         log.info("User registered: {}", saved.getUsername());
-        return toUserResponse(saved);
+        return UserResponse.from(saved);
+    }
+
+    // Name the clashing identifier from the violated index, where the driver reports it
+    private static DuplicateResourceException duplicateIdentity(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        String detail = (constraint != null ? constraint : String.valueOf(ex.getMostSpecificCause().getMessage()))
+                .toLowerCase(Locale.ROOT);
+        if (detail.contains("idx_user_username")) {
+            return new DuplicateResourceException("Username already exists", ex);
+        }
+        if (detail.contains("idx_user_email")) {
+            return new DuplicateResourceException("Email already exists", ex);
+        }
+        return new DuplicateResourceException("Username or email already exists", ex);
     }
 
     @Override
-    public LoginResponse login(LoginRequest request) {
-        Optional<User> userOpt = userRepository.findByUsername(request.getUsernameOrEmail());
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmail(request.getUsernameOrEmail());
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        String identifier = request.getUsernameOrEmail();
+        // Reject what we can before touching the database or the password hasher
+        loginAttemptGate.acquire(identifier, clientIp);
+        if (loginAttemptGate.isKnownUnknown(identifier)) {
+            throw new AuthenticationException("Invalid username/email or password");
+        }
+        LoginAccount account = findLoginAccount(identifier).orElse(null);
+        if (account == null) {
+            loginAttemptGate.recordUnknown(identifier);
+            throw new AuthenticationException("Invalid username/email or password");
         }
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("Invalid username/email or password");
+        if (account.subject().status() != User.UserStatus.ACTIVE) {
+            log.info("Login rejected for non-active user: {}", account.subject().username());
+            throw new AuthenticationException("Invalid username/email or password");
         }
-        User user = userOpt.get();
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid username/email or password");
+        if (!passwordEncoder.matches(request.getPassword(), account.passwordHash())) {
+            throw new AuthenticationException("Invalid username/email or password");
         }
+        loginAttemptGate.recordSuccess(identifier);
+        rehashIfOutdated(account, request.getPassword());
+        TokenSubject subject = account.subject();
         // Generate JWT token
-        String token = jwtTokenProvider.generateToken(user.getUsername());
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        String token = jwtTokenProvider.generateToken(subject);
+        LocalDateTime lastLogin = LocalDateTime.now();
+        lastLoginRecorder.record(subject.userId(), lastLogin);
         return LoginResponse.builder()
                 .token(token)
-                .expiresIn(86400000L)
-                .user(toUserResponse(user))
+                .expiresIn(jwtTokenProvider.getExpirationMs())
+                .refreshToken(refreshTokenService.issue(subject.userId()))
+                .user(toResponse(account.profile(), lastLogin))
                 .build();
     }
 
+    /**
+     * Resolve a username or email to the credentials needed for login.
+     * A username match wins if the identifier is also another user's email.
+     */
+    private Optional<LoginAccount> findLoginAccount(String identifier) {
+        List<UserRepository.LoginCredentialsRow> rows = userRepository.findLoginCredentials(identifier);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        UserRepository.LoginCredentialsRow first = rows.stream()
+                .filter(row -> row.getUsername().equals(identifier))
+                .findFirst()
+                .orElse(rows.get(0));
+        TokenSubject subject = new TokenSubject(first.getId(), first.getUsername(), Set.copyOf(first.getRoles()),
+                first.getStatus(), first.getUserType(), first.getAuthzVersion());
+        return Optional.of(new LoginAccount(subject, first.getPassword(), first));
+    }
+
+    private static UserResponse toResponse(UserRepository.LoginCredentialsRow row, LocalDateTime lastLogin) {
+        return UserResponse.builder()
+                .id(row.getId())
+                .username(row.getUsername())
+                .email(row.getEmail())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .fullName(row.getFirstName() + " " + row.getLastName())
+                .companyName(row.getCompanyName())
+                .phoneNumber(row.getPhoneNumber())
+                .userType(row.getUserType())
+                .status(row.getStatus())
+                .roles(Set.copyOf(row.getRoles()))
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .lastLogin(lastLogin)
+                .version(row.getVersion())
+                .build();
+    }
+
+    /**
+     * Upgrade a verified password to the current hash algorithm and cost.
+     * A saturated hashing pool skips the upgrade rather than failing a login
+     * that has already succeeded.
+     */
+    private void rehashIfOutdated(LoginAccount account, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(account.passwordHash())) {
+            return;
+        }
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePassword(account.subject().userId(), account.passwordHash(), newHash) == 0) {
+                // The password changed after this login read it; the new password stands
+                log.debug("Skipping password rehash for user {}: password changed concurrently",
+                        account.subject().username());
+                return;
+            }
+            log.info("Password hash upgraded for user: {}", account.subject().username());
+        } catch (ServiceOverloadedException ex) {
+            log.debug("Skipping password rehash for user {}: {}", account.subject().username(), ex.getMessage());
+        }
+    }
+
+    private record LoginAccount(TokenSubject subject, String passwordHash,
+                                UserRepository.LoginCredentialsRow profile) {
+    }
+
+    @Override
+    public LoginResponse refreshToken(RefreshTokenRequest request) {
+        // No password verification here: the refresh token itself is the credential
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return LoginResponse.builder()
+                .token(jwtTokenProvider.generateToken(rotation.subject()))
+                .expiresIn(jwtTokenProvider.getExpirationMs())
+                .refreshToken(rotation.refreshToken())
+                .build();
+    }
+
+    @Override
+    public void logout(String tokenId, Long userId, Instant expiresAt) {
+        tokenRevocationService.revokeToken(tokenId, userId, expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public void revokeTokens(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
+        tokenRevocationService.revokeAllForUser(userId);
+        refreshTokenService.revokeAllForUser(userId);
+    }
+
+    // No transaction here, so cache hits take no connection; misses load through read-only repository reads
     @Override
     public UserResponse getUserById(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return toUserResponse(user);
+        return userCache.getById(userId, userRepository::findById)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
     }
 
     @Override
     public UserResponse getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return toUserResponse(user);
+        return userCache.getByUsername(username, userRepository::findByUsername)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
     }
 
     @Override
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return toUserResponse(user);
+        return userCache.getByEmail(email, userRepository::findByEmail)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
     }
 
     @Override
     @Transactional
     public UserResponse updateUser(Long userId, UserRegistrationRequest request) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        String oldEmail = user.getEmail();
+        userStatistics.recordRemoved(user);
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setCompanyName(request.getCompanyName());
@@ -120,97 +283,252 @@ public class UserServiceImpl implements UserService {
         if (request.getPassword() != null && !request.getPassword().isBlank()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
-        User updated = userRepository.save(user);
-        return toUserResponse(updated);
+        User updated;
+        try {
+            updated = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateIdentity(ex);
+        }
+        userSearchIndex.index(updated);
+        userCache.evict(userId);
+        // The username is not updatable, so only an email change takes a new identifier
+        if (!updated.getEmail().equals(oldEmail)) {
+            userAvailabilityService.recordTaken(List.of(updated));
+            loginAttemptGate.recordKnown(updated.getEmail());
+        }
+        userStatistics.recordAdded(updated);
+        return UserResponse.from(updated);
+    }
+
+    @Override
+    @Transactional
+    public UserResponse patchUser(Long userId, UserPatchRequest patch, Long expectedVersion) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (expectedVersion != null && user.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("User has been modified since version " + expectedVersion);
+        }
+        String oldEmail = user.getEmail();
+        String oldSearchText = searchText(user);
+        userStatistics.recordRemoved(user);
+        if (patch.getEmail() != null) {
+            user.setEmail(required(patch.getEmail(), "email"));
+        }
+        if (patch.getPassword() != null) {
+            user.setPassword(passwordEncoder.encode(required(patch.getPassword(), "password")));
+        }
+        if (patch.getFirstName() != null) {
+            user.setFirstName(required(patch.getFirstName(), "firstName"));
+        }
+        if (patch.getLastName() != null) {
+            user.setLastName(required(patch.getLastName(), "lastName"));
+        }
+        if (patch.getCompanyName() != null) {
+            user.setCompanyName(patch.getCompanyName().orElse(null));
+        }
+        if (patch.getPhoneNumber() != null) {
+            user.setPhoneNumber(patch.getPhoneNumber().orElse(null));
+        }
+        if (patch.getUserType() != null) {
+            user.setUserType(required(patch.getUserType(), "userType"));
+        }
+        // Dirty checking writes only the columns set above that actually changed, and checks the version
+        User updated;
+        try {
+            updated = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateIdentity(ex);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("User was modified concurrently", ex);
+        }
+        if (!searchText(updated).equals(oldSearchText)) {
+            userSearchIndex.index(updated);
+        }
+        if (!updated.getEmail().equals(oldEmail)) {
+            userAvailabilityService.recordTaken(List.of(updated));
+            loginAttemptGate.recordKnown(updated.getEmail());
+        }
+        userStatistics.recordAdded(updated);
+        userCache.evict(userId);
+        return UserResponse.from(updated);
+    }
+
+    private static <T> T required(Optional<T> value, String field) {
+        return value.orElseThrow(() -> new InvalidRequestException(field + " cannot be removed"));
+    }
+
+    private static String searchText(User user) {
+        return user.getFirstName() + "\n" + user.getLastName() + "\n" + user.getCompanyName();
     }
 
     @Override
     @Transactional
     public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("User not found");
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        userRepository.delete(user);
+        userStatistics.recordRemoved(user);
+        userSearchIndex.remove(userId);
+        userCache.evict(userId);
+        tokenRevocationService.revokeAllForUser(userId);
+        refreshTokenService.revokeAllForUser(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getAllUsers(String cursor, int size, Set<UserField> fields) {
+        if (fields != null) {
+            return toPage(userRepository.findFieldsBy(fields,
+                    KeysetCursor.decode(cursor), KeysetCursor.limit(size)));
         }
-        userRepository.deleteById(userId);
+        return toPage(userRepository.findAllBy(
+                KeysetCursor.decode(cursor), KeysetCursor.NEWEST_FIRST, KeysetCursor.limit(size))
+                .map(UserResponse::from));
     }
 
     @Override
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream().map(this::toUserResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersByType(User.UserType userType, String cursor, int size) {
+        return toPage(userRepository.findByUserType(userType,
+                KeysetCursor.decode(cursor), KeysetCursor.NEWEST_FIRST, KeysetCursor.limit(size))
+                .map(UserResponse::from));
     }
 
     @Override
-    public List<UserResponse> getUsersByType(User.UserType userType) {
-        return userRepository.findByUserType(userType).stream().map(this::toUserResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersByStatus(User.UserStatus status, String cursor, int size) {
+        return toPage(userRepository.findByStatus(status,
+                KeysetCursor.decode(cursor), KeysetCursor.NEWEST_FIRST, KeysetCursor.limit(size))
+                .map(UserResponse::from));
     }
 
     @Override
-    public List<UserResponse> getUsersByStatus(User.UserStatus status) {
-        return userRepository.findByStatus(status).stream().map(this::toUserResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersByRole(String role, String cursor, int size, Set<UserField> fields) {
+        ScrollPosition position = KeysetCursor.decode(cursor);
+        long roleBit = roleRegistry.bit(role);
+        if (roleBit == 0) {
+            return CursorPage.<UserResponse>builder().items(List.of()).build();
+        }
+        Limit limit = KeysetCursor.limit(size);
+        if (fields != null) {
+            return toPage(userRepository.findFieldsByRoleBit(fields, roleBit, position, limit));
+        }
+        List<UserResponse> users = userRepository.findByRoleBit(roleBit, KeysetCursor.before(position),
+                        Limit.of(limit.max() + 1)).stream()
+                .map(UserResponse::from)
+                .toList();
+        return toPage(KeysetCursor.window(users, limit, UserResponse::getId));
     }
 
     @Override
-    public List<UserResponse> searchUsersByName(String name) {
-        return userRepository.findByNameContainingIgnoreCase(name).stream().map(this::toUserResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<UserResponse> searchUsersByName(String name, int limit, Set<UserField> fields) {
+        return search(UserSearchGram.Field.NAME, name, limit, fields);
     }
 
     @Override
-    public List<UserResponse> searchUsersByCompany(String companyName) {
-        return userRepository.findByCompanyNameContainingIgnoreCase(companyName).stream().map(this::toUserResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<UserResponse> searchUsersByCompany(String companyName, int limit, Set<UserField> fields) {
+        return search(UserSearchGram.Field.COMPANY, companyName, limit, fields);
+    }
+
+    // Rank through the trigram index, confirm candidates on their matched columns only,
+    // then load the requested fields for the survivors
+    private List<UserResponse> search(UserSearchGram.Field field, String query, int limit, Set<UserField> fields) {
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        // Over-fetch a little so rare trigram false positives do not shorten the result
+        List<Long> candidates = userSearchIndex.search(field, query, cappedLimit * 2);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        NGrams.Query parsed = NGrams.query(query);
+        Set<UserField> matchedFields = field == UserSearchGram.Field.NAME
+                ? EnumSet.of(UserField.FIRST_NAME, UserField.LAST_NAME)
+                : EnumSet.of(UserField.COMPANY_NAME);
+        Set<Long> confirmed = userRepository.findFieldsByIdIn(matchedFields, candidates).stream()
+                .filter(row -> NGrams.matches(parsed, row.getFirstName(), row.getLastName(), row.getCompanyName()))
+                .map(UserResponse::getId)
+                .collect(Collectors.toSet());
+        List<Long> ranked = candidates.stream()
+                .filter(confirmed::contains)
+                .limit(cappedLimit)
+                .toList();
+
+        Map<Long, UserResponse> users = (fields == null
+                ? userRepository.findAllById(ranked).stream().map(UserResponse::from)
+                : userRepository.findFieldsByIdIn(fields, ranked).stream())
+                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+        return ranked.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CursorPage<UserResponse> toPage(Window<UserResponse> window) {
+        return CursorPage.<UserResponse>builder()
+                .items(window.getContent())
+                .nextCursor(KeysetCursor.next(window))
+                .build();
     }
 
     @Override
     @Transactional
     public UserResponse updateUserStatus(Long userId, User.UserStatus status) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        userStatistics.recordRemoved(user);
         user.setStatus(status);
-        return toUserResponse(userRepository.save(user));
+        userStatistics.recordAdded(user);
+        bumpAuthzVersion(user);
+        if (status != User.UserStatus.ACTIVE) {
+            refreshTokenService.revokeAllForUser(userId);
+        }
+        userCache.evict(userId);
+        return UserResponse.from(userRepository.save(user));
     }
 
     @Override
     @Transactional
     public UserResponse addRoleToUser(Long userId, String role) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.getRoles().add(role);
-        return toUserResponse(userRepository.save(user));
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        roleRegistry.register(role);
+        userStatistics.recordRemoved(user);
+        if (user.addRole(role)) {
+            bumpAuthzVersion(user);
+            userCache.evict(userId);
+        }
+        userStatistics.recordAdded(user);
+        return UserResponse.from(userRepository.save(user));
     }
 
     @Override
     @Transactional
     public UserResponse removeRoleFromUser(Long userId, String role) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.getRoles().remove(role);
-        return toUserResponse(userRepository.save(user));
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        userStatistics.recordRemoved(user);
+        if (user.removeRole(role)) {
+            bumpAuthzVersion(user);
+            userCache.evict(userId);
+        }
+        userStatistics.recordAdded(user);
+        return UserResponse.from(userRepository.save(user));
     }
 
     @Override
     @Transactional
     public void updateLastLogin(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
+        lastLoginRecorder.record(userId, LocalDateTime.now());
     }
 
-    // Helper method to map User entity to UserResponse DTO
-    private UserResponse toUserResponse(User user) {
-        return UserResponse.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .fullName(user.getFullName())
-                .companyName(user.getCompanyName())
-                .phoneNumber(user.getPhoneNumber())
-                .userType(user.getUserType())
-                .status(user.getStatus())
-                .roles(user.getRoles())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .lastLogin(user.getLastLogin())
-                .build();
+    // Invalidate access tokens that still carry the previous roles or status
+    private void bumpAuthzVersion(User user) {
+        user.setAuthzVersion(user.getAuthzVersion() + 1);
+        tokenRevocationService.requireAuthzVersion(user.getId(), user.getAuthzVersion());
     }
-} 
\ No newline at end of file
+}
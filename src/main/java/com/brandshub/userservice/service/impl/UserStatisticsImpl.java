@@ -0,0 +1,268 @@
+package com.brandshub.userservice.service.impl;
+
+import com.brandshub.userservice.dto.UserStatsResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.UserChangeChannel;
+import com.brandshub.userservice.service.UserStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of UserStatistics holding one count per (type, status) and
+ * per (type, status, role).
+ *
+ * <p>The counts live in an immutable map that adjustments replace under a
+ * lock, so a read sees one consistent state without locking. A transaction's
+ * adjustments are collected in a map bound to the transaction and applied in
+ * one step after commit.</p>
+ *
+ * <p>Reconciliation groups the users table by type, status and role mask in
+ * one query and expands the masks through the role registry. Adjustments
+ * applied while the query runs are replayed on top of its result, as they may
+ * have committed after the query read the table. It runs at startup, every
+ * {@code user.stats.reconcile-interval}, after bulk updates, and within
+ * {@code user.stats.refresh-interval} of a change announced by another node.
+ * Differences it corrects are counted by {@code user.stats.reconcile.drift}.</p>
+ *
+ * @author Brands Hub Team
+ */
+@Service
+@Slf4j
+public class UserStatisticsImpl implements UserStatistics {
+
+    private static final String COUNTS_SQL =
+            "SELECT user_type, status, role_mask, COUNT(*) FROM users GROUP BY user_type, status, role_mask";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRegistry roleRegistry;
+    private final Duration reconcileInterval;
+    private final Counter drift;
+    private final Object lock = new Object();
+    // Serializes reconciliations across their query; lock only guards in-memory state
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    private volatile Map<StatsKey, Long> counts = Map.of();
+    private volatile LocalDateTime reconciledAt;
+    // Set by changes from other nodes, whose adjustments never reach this node
+    private volatile boolean stale;
+    // Adjustments applied while a reconciliation query runs; guarded by lock
+    private Map<StatsKey, Long> replay;
+
+    public UserStatisticsImpl(JdbcTemplate jdbcTemplate,
+                              RoleRegistry roleRegistry,
+                              UserChangeChannel changeChannel,
+                              @Value("${user.stats.reconcile-interval:PT10M}") Duration reconcileInterval,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleRegistry = roleRegistry;
+        this.reconcileInterval = reconcileInterval;
+        this.drift = Counter.builder("user.stats.reconcile.drift")
+                .description("Count differences corrected by reconciling with the database")
+                .register(meterRegistry);
+        // Last-login changes move no count
+        changeChannel.subscribe(EnumSet.of(UserChange.Kind.UPDATED), userIds -> stale = true);
+    }
+
+    @Override
+    public UserStatsResponse getStats() {
+        Map<StatsKey, Long> current = counts;
+        long total = 0;
+        Map<User.UserType, Long> byType = new EnumMap<>(User.UserType.class);
+        Map<User.UserStatus, Long> byStatus = new EnumMap<>(User.UserStatus.class);
+        Map<String, Long> byRole = new TreeMap<>();
+        Map<StatsKey, UserStatsResponse.Segment> segments = new TreeMap<>(StatsKey.ORDER);
+        for (Map.Entry<StatsKey, Long> entry : current.entrySet()) {
+            StatsKey key = entry.getKey();
+            long count = entry.getValue();
+            UserStatsResponse.Segment segment = segments.computeIfAbsent(key.withoutRole(),
+                    k -> UserStatsResponse.Segment.builder()
+                            .userType(k.userType())
+                            .status(k.status())
+                            .roles(new TreeMap<>())
+                            .build());
+            if (key.role() == null) {
+                total += count;
+                byType.merge(key.userType(), count, Long::sum);
+                byStatus.merge(key.status(), count, Long::sum);
+                segment.setUsers(count);
+            } else {
+                byRole.merge(key.role(), count, Long::sum);
+                segment.getRoles().put(key.role(), count);
+            }
+        }
+        return UserStatsResponse.builder()
+                .total(total)
+                .byType(byType)
+                .byStatus(byStatus)
+                .byRole(byRole)
+                .segments(new ArrayList<>(segments.values()))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @Override
+    public void recordAdded(User user) {
+        adjust(user, 1);
+    }
+
+    @Override
+    public void recordRemoved(User user) {
+        adjust(user, -1);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            stale = false;
+            synchronized (lock) {
+                replay = new HashMap<>();
+            }
+            Map<StatsKey, Long> fresh = new HashMap<>();
+            try {
+                jdbcTemplate.query(COUNTS_SQL, rs -> {
+                    User.UserType userType = User.UserType.valueOf(rs.getString(1));
+                    User.UserStatus status = User.UserStatus.valueOf(rs.getString(2));
+                    long count = rs.getLong(4);
+                    fresh.merge(new StatsKey(userType, status, null), count, Long::sum);
+                    for (String role : roleRegistry.rolesOf(rs.getLong(3))) {
+                        fresh.merge(new StatsKey(userType, status, role), count, Long::sum);
+                    }
+                });
+            } catch (DataAccessException ex) {
+                // Keep the adjusted counts; the next scheduled run tries again
+                log.warn("Reconciling user statistics failed: {}", ex.getMessage());
+                stale = true;
+                synchronized (lock) {
+                    replay = null;
+                }
+                return;
+            }
+            synchronized (lock) {
+                replay.forEach((key, delta) -> fresh.merge(key, delta, Long::sum));
+                replay = null;
+                fresh.values().removeIf(count -> count == 0);
+                long difference = difference(counts, fresh);
+                if (difference > 0) {
+                    log.info("Reconciled user statistics, corrected {} counts", difference);
+                    drift.increment(difference);
+                }
+                counts = Map.copyOf(fresh);
+                reconciledAt = LocalDateTime.now();
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Reconcile if another node changed users or the last reconciliation is too old.
+     */
+    @Scheduled(fixedDelayString = "${user.stats.refresh-interval:PT30S}",
+            initialDelayString = "${user.stats.refresh-interval:PT30S}")
+    public void refresh() {
+        LocalDateTime last = reconciledAt;
+        if (stale || last == null || last.plus(reconcileInterval).isBefore(LocalDateTime.now())) {
+            reconcile();
+        }
+    }
+
+    private void adjust(User user, long sign) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<StatsKey, Long> delta = new HashMap<>();
+            addTo(delta, user, sign);
+            apply(delta);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<StatsKey, Long> pending = (Map<StatsKey, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<StatsKey, Long> delta = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, delta);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UserStatisticsImpl.this);
+                }
+            });
+            pending = delta;
+        }
+        addTo(pending, user, sign);
+    }
+
+    private void apply(Map<StatsKey, Long> delta) {
+        delta.values().removeIf(count -> count == 0);
+        if (delta.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            Map<StatsKey, Long> next = new HashMap<>(counts);
+            delta.forEach((key, change) -> next.merge(key, change, Long::sum));
+            next.values().removeIf(count -> count == 0);
+            counts = Map.copyOf(next);
+            if (replay != null) {
+                delta.forEach((key, change) -> replay.merge(key, change, Long::sum));
+            }
+        }
+    }
+
+    private static void addTo(Map<StatsKey, Long> delta, User user, long sign) {
+        delta.merge(new StatsKey(user.getUserType(), user.getStatus(), null), sign, Long::sum);
+        for (String role : user.getRoles()) {
+            delta.merge(new StatsKey(user.getUserType(), user.getStatus(), role), sign, Long::sum);
+        }
+    }
+
+    private static long difference(Map<StatsKey, Long> before, Map<StatsKey, Long> after) {
+        Set<StatsKey> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        long difference = 0;
+        for (StatsKey key : keys) {
+            difference += Math.abs(before.getOrDefault(key, 0L) - after.getOrDefault(key, 0L));
+        }
+        return difference;
+    }
+
+    /** A null role stands for the users themselves rather than one of their roles. */
+    private record StatsKey(User.UserType userType, User.UserStatus status, String role) {
+
+        private static final Comparator<StatsKey> ORDER = Comparator
+                .comparing(StatsKey::userType)
+                .thenComparing(StatsKey::status);
+
+        StatsKey withoutRole() {
+            return role == null ? this : new StatsKey(userType, status, null);
+        }
+    }
+}
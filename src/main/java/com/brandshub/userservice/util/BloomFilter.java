@@ -0,0 +1,126 @@
+package com.brandshub.userservice.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, lock-free Bloom filter over strings.
+ *
+ * <p>Membership tests never return a false negative: if {@link #mightContain}
+ * returns false the value was never added. A true result means the value was
+ * probably added and must be confirmed against the authoritative store.
+ * Elements cannot be removed; callers rebuild a fresh filter and swap it in
+ * when stale entries should be dropped.</p>
+ *
+ * @author Brands Hub Team
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final LongAdder bitsSet = new LongAdder();
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.words = new AtomicLongArray((int) ((numBits + 63) >>> 6));
+        this.numBits = (long) words.length() << 6;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Create a filter sized for the expected number of insertions and target false-positive rate.
+     *
+     * @param expectedInsertions number of distinct values the filter should hold
+     * @param falsePositiveRate target probability of a false positive at that size
+     * @return an empty filter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+    /**
+     * Add a value to the filter.
+     *
+     * @param value the value to add
+     */
+    public void put(String value) {
+        long hash = fnv1a(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            setBit(Long.remainderUnsigned(h1 + i * h2, numBits));
+        }
+    }
+
+    /**
+     * Test whether a value may have been added.
+     *
+     * @param value the value to test
+     * @return false if the value was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash = fnv1a(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, numBits);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimate the current false-positive probability from the fraction of bits set.
+     *
+     * @return the expected false-positive rate for a value that was never added
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.sum() / numBits, numHashes);
+    }
+
+    /**
+     * Estimate the number of distinct values added so far.
+     *
+     * @return the approximate element count
+     */
+    public long approximateElementCount() {
+        double fractionSet = (double) bitsSet.sum() / numBits;
+        return Math.round(-Math.log1p(-fractionSet) * numBits / numHashes);
+    }
+
+    private void setBit(long index) {
+        int wordIndex = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(wordIndex);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(wordIndex, current, current | mask));
+        bitsSet.increment();
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Stafford variant 13 finalizer, spreads FNV output across all 64 bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,97 @@
+package com.brandshub.userservice.util;
+
+import com.brandshub.userservice.exception.InvalidRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 record reader, the counterpart of the CSV export.
+ *
+ * <p>Fields are separated by commas and may be quoted; quoted fields can
+ * contain commas, line breaks and doubled quotes. Carriage returns outside
+ * quotes are ignored, so both LF and CRLF line endings are accepted. Blank
+ * lines are skipped. Only one record is held in memory at a time.</p>
+ *
+ * @author Brands Hub Team
+ */
+public final class CsvReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+
+    /**
+     * @param reader the source, ideally buffered; never closed by this reader
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the record's fields, or null at the end of the input
+     * @throws IOException if reading the source fails
+     * @throws InvalidRequestException if a quoted field is never closed
+     */
+    public List<String> next() throws IOException {
+        int c = reader.read();
+        while (c == '\n' || c == '\r') {
+            if (c == '\n') {
+                line++;
+            }
+            c = reader.read();
+        }
+        if (c < 0) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c < 0) {
+                if (quoted) {
+                    throw new InvalidRequestException("Unterminated quoted field starting on line " + recordLine);
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * @return the line the last record returned by {@link #next()} started on, counting from 1
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+}
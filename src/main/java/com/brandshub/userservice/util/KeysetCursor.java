@@ -0,0 +1,117 @@
+package com.brandshub.userservice.util;
+
+import com.brandshub.userservice.exception.InvalidRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation tokens for keyset-paginated user listings.
+ *
+ * <p>Pages are ordered newest first by the sequence-generated {@code id}, which
+ * follows creation order up to each node's pre-allocated block and is served by
+ * the primary key index. A cursor carries only the last {@code id} of the
+ * previous page, so the next page is read with {@code WHERE id < ?} instead of
+ * an {@code OFFSET} scan and costs the same at any depth. Tokens are versioned so the encoding can change later.</p>
+ *
+ * @author Brands Hub Team
+ */
+public final class KeysetCursor {
+
+    /** Page size used when the client does not ask for one. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Largest page a client may request; larger sizes are capped. */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** Keyset order shared by every paginated user query. */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+
+    private static final String VERSION = "v1:";
+    private static final String KEY = "id";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Decode a continuation token into a scroll position.
+     *
+     * @param cursor the token from the previous page, or null for the first page
+     * @return the position to continue from
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!value.startsWith(VERSION)) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            return ScrollPosition.forward(Map.of(KEY, Long.parseLong(value.substring(VERSION.length()))));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid pagination cursor", ex);
+        }
+    }
+
+    /**
+     * Encode the position after the last element of a window.
+     *
+     * @param window the page just read
+     * @return the continuation token, or null if there are no more elements
+     */
+    public static String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        String value = VERSION + position.getKeys().get(KEY);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Upper id bound for a page read by a hand-written query.
+     *
+     * @param position the position from {@link #decode}
+     * @return the last id of the previous page, or {@link Long#MAX_VALUE} for the first page
+     */
+    public static long before(ScrollPosition position) {
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            return ((Number) keyset.getKeys().get(KEY)).longValue();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Wrap the result of a hand-written page query that read one row beyond the limit.
+     *
+     * @param rows up to {@code limit + 1} rows, newest first
+     * @param limit the page size
+     * @param idOf extracts the id of a row
+     * @return the page, with scroll positions that {@link #next} can encode
+     */
+    public static <T> Window<T> window(List<T> rows, Limit limit, Function<T, Long> idOf) {
+        boolean hasNext = rows.size() > limit.max();
+        List<T> page = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(page, index -> ScrollPosition.forward(Map.of(KEY, idOf.apply(page.get(index)))), hasNext);
+    }
+
+    /**
+     * Clamp a requested page size to the allowed range.
+     *
+     * @param size the requested size
+     * @return a limit between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    public static Limit limit(int size) {
+        return Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.brandshub.userservice.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram extraction for the user search index.
+ *
+ * <p>Text is lower-cased, stripped of diacritics and split into alphanumeric
+ * tokens. Each indexed token is padded as {@code "  token "}, so besides its
+ * interior trigrams it yields start-of-token grams ({@code "  s"},
+ * {@code " sm"}) and an end-of-token gram ({@code "th "}). A query token must
+ * match all of its interior trigrams (substring match); matching the boundary
+ * grams as well raises the score, so prefix and whole-word matches rank above
+ * mid-word ones. Query tokens shorter than three characters can only be
+ * matched as prefixes.</p>
+ *
+ * @author Brands Hub Team
+ */
+public final class NGrams {
+
+    private static final int N = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private NGrams() {
+    }
+
+    /**
+     * Split text into normalized search tokens.
+     *
+     * @param text the text, may be null
+     * @return the tokens in order, without duplicates
+     */
+    public static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : TOKEN_SEPARATOR.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Trigrams to store for a set of field values.
+     *
+     * @param texts the field values, nulls are ignored
+     * @return every distinct trigram of every token, including boundary grams
+     */
+    public static Set<String> indexGrams(String... texts) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String text : texts) {
+            for (String token : tokens(text)) {
+                addGrams(grams, "  " + token + " ");
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Trigrams to look up for a search query.
+     *
+     * @param query the user's search text
+     * @return the grams every match must contain, and the boundary grams that only add to the score
+     */
+    public static Query query(String query) {
+        Set<String> required = new LinkedHashSet<>();
+        Set<String> boost = new LinkedHashSet<>();
+        List<String> tokens = new ArrayList<>(tokens(query));
+        for (String token : tokens) {
+            if (token.length() < N) {
+                // Too short for an interior gram, fall back to a prefix match
+                addGrams(required, "  " + token);
+                continue;
+            }
+            addGrams(required, token);
+            boost.add("  " + token.charAt(0));
+            boost.add(" " + token.substring(0, 2));
+            boost.add(token.substring(token.length() - 2) + " ");
+        }
+        boost.removeAll(required);
+        return new Query(List.copyOf(tokens), Set.copyOf(required), Set.copyOf(boost));
+    }
+
+    /**
+     * Confirm a trigram candidate against the actual field values.
+     *
+     * @param query the parsed query
+     * @param texts the candidate's field values, nulls are ignored
+     * @return true if every query token occurs in some field token, as a prefix for short tokens
+     */
+    public static boolean matches(Query query, String... texts) {
+        Set<String> fieldTokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            fieldTokens.addAll(tokens(text));
+        }
+        for (String token : query.tokens()) {
+            boolean found = fieldTokens.stream().anyMatch(fieldToken -> token.length() < N
+                    ? fieldToken.startsWith(token)
+                    : fieldToken.contains(token));
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addGrams(Set<String> grams, String padded) {
+        for (int i = 0; i + N <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + N));
+        }
+    }
+
+    /**
+     * Grams derived from a search query.
+     *
+     * @param tokens the normalized query tokens
+     * @param required grams a candidate must contain, one per distinct gram
+     * @param boost optional boundary grams that raise a candidate's score
+     */
+    public record Query(List<String> tokens, Set<String> required, Set<String> boost) {
+
+        public boolean isEmpty() {
+            return required.isEmpty();
+        }
+    }
+}
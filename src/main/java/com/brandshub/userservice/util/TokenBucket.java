@@ -0,0 +1,62 @@
+package com.brandshub.userservice.util;
+
+/**
+ * Token bucket rate limiter with continuous refill.
+ *
+ * <p>The bucket starts full. Each permit consumes one token and tokens are
+ * added back at a fixed rate up to the capacity, so short bursts up to the
+ * capacity are allowed while the sustained rate is bounded by the refill rate.
+ * Refill is computed lazily on each call, so idle buckets cost nothing.</p>
+ *
+ * @author Brands Hub Team
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Create a full bucket.
+     *
+     * @param capacity maximum number of tokens, i.e. the allowed burst
+     * @param tokensPerSecond sustained refill rate
+     */
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Take one token if available.
+     *
+     * @return true if a token was taken, false if the bucket is empty
+     */
+    public synchronized boolean tryConsume() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Time until the next token becomes available.
+     *
+     * @return nanoseconds to wait, zero if a token is available now
+     */
+    public synchronized long nanosUntilNextToken() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -1,17 +1,40 @@
 package com.brandshub.userservice.controller;
 
+import com.brandshub.userservice.dto.AvailabilityResponse;
+import com.brandshub.userservice.dto.CursorPage;
 import com.brandshub.userservice.dto.LoginRequest;
 import com.brandshub.userservice.dto.LoginResponse;
+import com.brandshub.userservice.dto.RefreshTokenRequest;
+import com.brandshub.userservice.dto.SparseUserResponse;
+import com.brandshub.userservice.dto.UserField;
+import com.brandshub.userservice.dto.UserPatchRequest;
 import com.brandshub.userservice.dto.UserRegistrationRequest;
 import com.brandshub.userservice.dto.UserResponse;
+import com.brandshub.userservice.dto.UserStatsResponse;
 import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.security.JwtTokenProvider;
+import com.brandshub.userservice.security.PasswordHashCalibrator;
+import com.brandshub.userservice.security.SecurityConfig;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserBulkService;
+import com.brandshub.userservice.service.UserExportService;
+import com.brandshub.userservice.service.UserImportService;
 import com.brandshub.userservice.service.UserService;
+import com.brandshub.userservice.service.TokenRevocationService;
+import com.brandshub.userservice.service.UserStatistics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,8 +42,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,14 +63,58 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @since 2024-01-01
  */
 @WebMvcTest(UserController.class)
+@Import({SecurityConfig.class, UserControllerTest.WebTestConfig.class})
 class UserControllerTest {
 
+    /**
+     * Serves requests under the configured servlet context path, as the
+     * running application does, and supplies the meter registry that the
+     * security configuration needs outside the metrics auto-configuration.
+     */
+    @TestConfiguration
+    static class WebTestConfig {
+
+        @Bean
+        MockMvcBuilderCustomizer contextPath() {
+            return builder -> builder.defaultRequest(get("/").contextPath("/api/v1"));
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private UserBulkService userBulkService;
+
+    @MockBean
+    private UserAvailabilityService userAvailabilityService;
+
+    @MockBean
+    private UserStatistics userStatistics;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private PasswordHashCalibrator passwordHashCalibrator;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -127,10 +201,24 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.error").value("Validation Error"));
     }
 
+    @Test
+    void checkAvailability_Success() throws Exception {
+        // Given
+        when(userAvailabilityService.check(eq("newuser"), isNull(), any()))
+                .thenReturn(AvailabilityResponse.builder().usernameAvailable(true).build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/users/availability")
+                .param("username", "newuser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(true))
+                .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+    }
+
     @Test
     void login_Success() throws Exception {
         // Given
-        when(userService.login(any(LoginRequest.class))).thenReturn(loginResponse);
+        when(userService.login(any(LoginRequest.class), any())).thenReturn(loginResponse);
 
         // When & Then
         mockMvc.perform(post("/api/v1/users/login")
@@ -142,6 +230,19 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.user.username").value("testuser"));
     }
 
+    @Test
+    void refreshToken_Success() throws Exception {
+        // Given
+        when(userService.refreshToken(any(RefreshTokenRequest.class))).thenReturn(loginResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/users/token/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt-token"));
+    }
+
     @Test
     void login_ValidationError() throws Exception {
         // Given
@@ -175,13 +276,39 @@ class UserControllerTest {
     @WithMockUser(roles = "ADMIN")
     void getAllUsers_Success() throws Exception {
         // Given
-        when(userService.getAllUsers()).thenReturn(Arrays.asList(testUserResponse));
+        when(userService.getAllUsers(null, 50, null)).thenReturn(CursorPage.<UserResponse>builder()
+                .items(Arrays.asList(testUserResponse))
+                .nextCursor("next-page")
+                .build());
 
         // When & Then
         mockMvc.perform(get("/api/v1/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].username").value("testuser"));
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].username").value("testuser"))
+                // A full response keeps unset fields as explicit nulls
+                .andExpect(jsonPath("$.items[0].lastLogin").value(nullValue()))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllUsers_WithFields_OmitsUnselectedFields() throws Exception {
+        // Given
+        UserResponse sparse = new SparseUserResponse();
+        sparse.setId(1L);
+        sparse.setUsername("testuser");
+        when(userService.getAllUsers(null, 50, UserField.parse("username"))).thenReturn(CursorPage.<UserResponse>builder()
+                .items(List.of(sparse))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/users").param("fields", "username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].username").value("testuser"))
+                .andExpect(content().string(not(containsString("\"email\""))))
+                .andExpect(content().string(not(containsString("\"lastLogin\""))));
     }
 
     @Test
@@ -199,6 +326,35 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.username").value("testuser"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchUser_WithIfMatch_ReturnsNewETag() throws Exception {
+        // Given
+        testUserResponse.setVersion(4L);
+        when(userService.patchUser(eq(1L), any(UserPatchRequest.class), eq(3L))).thenReturn(testUserResponse);
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/users/1")
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"firstName\":\"Patched\",\"phoneNumber\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchUser_WithoutIfMatch_ReturnsPreconditionRequired() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/v1/users/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"firstName\":\"Patched\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(userService, never()).patchUser(any(), any(), any());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteUser_Success() throws Exception {
@@ -210,11 +366,29 @@ class UserControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getUserStats_Success() throws Exception {
+        // Given
+        when(userStatistics.getStats()).thenReturn(UserStatsResponse.builder()
+                .total(2)
+                .byType(Map.of(User.UserType.EXTERNAL, 2L))
+                .byRole(Map.of("USER", 2L))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/users/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byType.EXTERNAL").value(2))
+                .andExpect(jsonPath("$.byRole.USER").value(2));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void searchUsersByName_Success() throws Exception {
         // Given
-        when(userService.searchUsersByName("test")).thenReturn(Arrays.asList(testUserResponse));
+        when(userService.searchUsersByName("test", 20, null)).thenReturn(Arrays.asList(testUserResponse));
 
         // When & Then
         mockMvc.perform(get("/api/v1/users/search/name")
@@ -227,7 +401,7 @@ class UserControllerTest {
     @WithMockUser(roles = "ADMIN")
     void searchUsersByCompany_Success() throws Exception {
         // Given
-        when(userService.searchUsersByCompany("Test Company")).thenReturn(Arrays.asList(testUserResponse));
+        when(userService.searchUsersByCompany("Test Company", 20, null)).thenReturn(Arrays.asList(testUserResponse));
 
         // When & Then
         mockMvc.perform(get("/api/v1/users/search/company")
@@ -0,0 +1,173 @@
+package com.brandshub.userservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for replica routing against two embedded H2 databases, one standing
+ * in for the primary and one for the replica. Replication is simulated by
+ * copying the heartbeat table.
+ *
+ * @author Brands Hub Team
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS replica_heartbeats "
+                    + "(node_id VARCHAR(36) PRIMARY KEY, beat_at TIMESTAMP NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS markers (name VARCHAR(20))");
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = database("routing_primary");
+        DataSource replicaDataSource = database("routing_replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.update("INSERT INTO markers (name) VALUES ('primary')");
+        replica.update("INSERT INTO markers (name) VALUES ('replica')");
+
+        lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, Duration.ofMillis(500),
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource,
+                replicaDataSource, lagMonitor, new ReadYourWritesWindow(Duration.ofMinutes(1)),
+                new SimpleMeterRegistry()));
+        routed = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (JdbcTemplate database : List.of(primary, replica)) {
+            database.update("DELETE FROM markers");
+            database.update("DELETE FROM replica_heartbeats");
+        }
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplicaOnceCaughtUp() {
+        // Given
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+
+        // When & Then
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> marker()));
+        assertEquals("primary", readWrite.execute(status -> marker()));
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    void readOnlyTransaction_UsesPrimaryUntilReplicaHasAHeartbeat() {
+        // When
+        lagMonitor.check();
+        lagMonitor.check();
+
+        // Then
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    void readOnlyTransaction_UsesPrimaryWhileReplicaLags() throws InterruptedException {
+        // Given
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        // The replica stops applying changes
+        Thread.sleep(600);
+
+        // When
+        lagMonitor.check();
+
+        // Then
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnWrite_UsesPrimaryForThatSessionOnly() {
+        // Given
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        authenticate("writer");
+        readWrite.executeWithoutResult(status -> routed.update("INSERT INTO markers (name) VALUES ('written')"));
+
+        // When
+        String writerRead = readOnly.execute(status -> marker());
+        authenticate("reader");
+        String otherRead = readOnly.execute(status -> marker());
+
+        // Then
+        assertEquals("primary", writerRead);
+        assertEquals("replica", otherRead);
+    }
+
+    @Test
+    void readOnlyTransaction_AfterRolledBackWrite_UsesReplica() {
+        // Given
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        authenticate("writer");
+        readWrite.executeWithoutResult(status -> {
+            routed.update("INSERT INTO markers (name) VALUES ('written')");
+            status.setRollbackOnly();
+        });
+
+        // When & Then
+        assertEquals("replica", readOnly.execute(status -> marker()));
+    }
+
+    private String marker() {
+        return routed.queryForObject("SELECT MIN(name) FROM markers WHERE name IN ('primary', 'replica')",
+                String.class);
+    }
+
+    private void replicate() {
+        replica.update("DELETE FROM replica_heartbeats");
+        primary.query("SELECT node_id, beat_at FROM replica_heartbeats", rs -> {
+            replica.update("INSERT INTO replica_heartbeats (node_id, beat_at) VALUES (?, ?)",
+                    rs.getString(1), rs.getTimestamp(2));
+        });
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        SCHEMA.forEach(new JdbcTemplate(dataSource)::execute);
+        return dataSource;
+    }
+}
@@ -0,0 +1,82 @@
+package com.brandshub.userservice.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the virtual thread pinning monitor against a live JFR stream.
+ *
+ * @author Brands Hub Team
+ */
+class VirtualThreadPinningMonitorTest {
+
+    // JFR delivers streamed events about once a second
+    private static final long DELIVERY_TIMEOUT_MILLIS = 10_000;
+
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(THRESHOLD, meterRegistry);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void blockingInsideSynchronized_IsRecorded() throws InterruptedException {
+        // Given
+        Object monitorLock = new Object();
+
+        // When
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitorLock) {
+                sleep(100);
+            }
+        }).join();
+
+        // Then
+        // JFR measures the pinned section slightly shorter than the sleep, so only the threshold is certain
+        assertTrue(awaitPinned(1), "pinned virtual thread was not recorded");
+        assertTrue(pinned().count() >= 1);
+        assertTrue(pinned().totalTime(TimeUnit.MILLISECONDS) >= THRESHOLD.toMillis());
+    }
+
+    private boolean awaitPinned(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DELIVERY_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (pinned().count() >= count) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    private Timer pinned() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").timer();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
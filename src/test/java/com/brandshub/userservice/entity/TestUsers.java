@@ -0,0 +1,36 @@
+package com.brandshub.userservice.entity;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * User fixtures shared by the tests that save users.
+ *
+ * @author Brands Hub Team
+ */
+public final class TestUsers {
+
+    public static final String PASSWORD = "password123";
+
+    private TestUsers() {
+    }
+
+    /**
+     * Start a valid, active external user with the role USER. The email is
+     * derived from the username, so distinct usernames never clash.
+     *
+     * @param username the username
+     * @return a builder to adjust and build
+     */
+    public static User.UserBuilder user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password(PASSWORD)
+                .firstName("Test")
+                .lastName("User")
+                .userType(User.UserType.EXTERNAL)
+                .status(User.UserStatus.ACTIVE)
+                .roles(new HashSet<>(Set.of("USER")));
+    }
+}
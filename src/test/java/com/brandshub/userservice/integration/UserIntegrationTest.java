@@ -44,6 +44,8 @@ class UserIntegrationTest {
         registry.add("spring.datasource.username", sqlServer::getUsername);
         registry.add("spring.datasource.password", sqlServer::getPassword);
         registry.add("spring.datasource.driver-class-name", sqlServer::getDriverClassName);
+        // The test resources default the dialect to H2 for the sliced tests
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.SQLServerDialect");
     }
 
     @BeforeEach
@@ -0,0 +1,48 @@
+package com.brandshub.userservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UserIdGenerationCheck against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@JdbcTest
+class UserIdGenerationCheckTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS \"users\"");
+    }
+
+    @Test
+    void verify_IdentityColumn_FailsStartup() {
+        // Given
+        jdbcTemplate.execute("CREATE TABLE \"users\" (\"id\" BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+
+        // When
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> new UserIdGenerationCheck(jdbcTemplate).verify());
+
+        // Then
+        assertTrue(ex.getMessage().contains(UserIdGenerationCheck.MIGRATION_SCRIPT));
+    }
+
+    @Test
+    void verify_SequenceGeneratedColumn_Passes() {
+        // Given
+        jdbcTemplate.execute("CREATE TABLE \"users\" (\"id\" BIGINT PRIMARY KEY)");
+
+        // When / Then
+        assertDoesNotThrow(() -> new UserIdGenerationCheck(jdbcTemplate).verify());
+    }
+}
@@ -0,0 +1,134 @@
+package com.brandshub.userservice.repository;
+
+import com.brandshub.userservice.dto.UserField;
+import com.brandshub.userservice.dto.UserResponse;
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.security.RoleRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sparse projection queries of UserRepository against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+@Import({RoleRegistry.class, JpaAuditingConfig.class})
+class UserProjectionRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    private User ann;
+    private User bob;
+    private User cid;
+
+    @BeforeEach
+    void setUp() {
+        ann = save("annuser", "Ann", "Lee", Set.of("USER", "ADMIN"));
+        bob = save("bobuser", "Bob", "Stone", Set.of());
+        cid = save("ciduser", "Cid", "Moss", Set.of("USER"));
+    }
+
+    @Test
+    void findFieldsBy_SelectsOnlyRequestedFieldsNewestFirst() {
+        // When
+        Window<UserResponse> page = userRepository.findFieldsBy(
+                UserField.parse("username,fullName"), ScrollPosition.keyset(), Limit.of(2));
+
+        // Then
+        assertEquals(List.of(cid.getId(), bob.getId()), page.stream().map(UserResponse::getId).toList());
+        UserResponse first = page.getContent().get(0);
+        assertEquals("ciduser", first.getUsername());
+        assertEquals("Cid Moss", first.getFullName());
+        assertNull(first.getFirstName());
+        assertNull(first.getRoles());
+        assertNull(first.getCreatedAt());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void findFieldsBy_ContinuesFromScrollPosition() {
+        // Given
+        Window<UserResponse> first = userRepository.findFieldsBy(
+                UserField.parse("username"), ScrollPosition.keyset(), Limit.of(2));
+
+        // When
+        Window<UserResponse> second = userRepository.findFieldsBy(
+                UserField.parse("username"), first.positionAt(first.size() - 1), Limit.of(2));
+
+        // Then
+        assertEquals(List.of(ann.getId()), second.stream().map(UserResponse::getId).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findFieldsByRoleBit_SelectsOnlyUsersHoldingRole() {
+        // When
+        Window<UserResponse> page = userRepository.findFieldsByRoleBit(
+                UserField.parse("username"), roleRegistry.bit("USER"), ScrollPosition.keyset(), Limit.of(50));
+
+        // Then
+        assertEquals(List.of(cid.getId(), ann.getId()), page.stream().map(UserResponse::getId).toList());
+        assertEquals("ciduser", page.getContent().get(0).getUsername());
+        assertNull(page.getContent().get(0).getEmail());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void findFieldsByIdIn_LoadsRolesOnlyWhenRequested() {
+        // When
+        List<UserResponse> users = userRepository.findFieldsByIdIn(
+                UserField.parse("roles"), List.of(ann.getId(), bob.getId()));
+
+        // Then
+        assertEquals(2, users.size());
+        UserResponse annRow = users.stream().filter(user -> user.getId().equals(ann.getId())).findFirst().orElseThrow();
+        UserResponse bobRow = users.stream().filter(user -> user.getId().equals(bob.getId())).findFirst().orElseThrow();
+        assertEquals(Set.of("USER", "ADMIN"), annRow.getRoles());
+        assertEquals(Set.of(), bobRow.getRoles());
+        assertNull(annRow.getUsername());
+    }
+
+    @Test
+    void findLoginCredentials_SelectsCredentialsAndProfile() {
+        // When
+        List<UserRepository.LoginCredentialsRow> rows = userRepository.findLoginCredentials("annuser@example.com");
+
+        // Then
+        assertEquals(1, rows.size());
+        UserRepository.LoginCredentialsRow row = rows.get(0);
+        assertEquals(ann.getId(), row.getId());
+        assertEquals(ann.getPassword(), row.getPassword());
+        assertEquals(Set.of("USER", "ADMIN"), row.getRoles());
+        assertEquals("Ann", row.getFirstName());
+        assertEquals("Lee", row.getLastName());
+        assertNotNull(row.getCreatedAt());
+        assertEquals(ann.getVersion(), row.getVersion());
+    }
+
+    private User save(String username, String firstName, String lastName, Set<String> roles) {
+        return userRepository.saveAndFlush(TestUsers.user(username)
+                .firstName(firstName)
+                .lastName(lastName)
+                .roles(new HashSet<>(roles))
+                .build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.entity.SigningKey;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.repository.SigningKeyRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for JwtTokenProvider and its verified-token cache.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtKeyRing keyRing;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        SigningKeyRepository signingKeyRepository = mock(SigningKeyRepository.class);
+        when(signingKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of());
+        when(signingKeyRepository.save(any(SigningKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        keyRing = new JwtKeyRing(signingKeyRepository, "ES256", Duration.ofDays(7), Duration.ofMinutes(15),
+                Duration.ofMinutes(5), 60000L);
+        keyRing.refresh();
+
+        meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMinutes(5), meterRegistry);
+        jwtTokenProvider = new JwtTokenProvider(60000L, keyRing, cache);
+    }
+
+    private static TokenSubject subject() {
+        return new TokenSubject(1L, "testuser", Set.of("USER", "ADMIN"),
+                User.UserStatus.ACTIVE, User.UserType.INTERNAL, 3);
+    }
+
+    @Test
+    void generateToken_SignedWithActiveKeyAndKid() {
+        // When
+        String token = jwtTokenProvider.generateToken(subject());
+
+        // Then
+        String kid = Jwts.parser().verifyWith(keyRing.signingKey().publicKey()).build()
+                .parseSignedClaims(token).getHeader().getKeyId();
+        assertEquals(keyRing.signingKey().kid(), kid);
+        assertEquals(kid, keyRing.publicJwks().get(0).getId());
+    }
+
+    @Test
+    void authenticate_HmacTokenWithoutKid_Rejected() {
+        // Given
+        String legacyToken = Jwts.builder()
+                .subject("legacyuser")
+                .expiration(new Date(System.currentTimeMillis() + 60000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        // When & Then
+        assertTrue(jwtTokenProvider.authenticate(legacyToken).isEmpty());
+    }
+
+    @Test
+    void authenticate_ValidToken_BuildsPrincipalFromClaims() {
+        // Given
+        String token = jwtTokenProvider.generateToken(subject());
+
+        // When
+        Optional<AuthenticatedUser> principal = jwtTokenProvider.authenticate(token);
+
+        // Then
+        assertTrue(principal.isPresent());
+        assertEquals(1L, principal.get().getId());
+        assertEquals("testuser", principal.get().getUsername());
+        assertEquals(User.UserType.INTERNAL, principal.get().getUserType());
+        assertEquals(3, principal.get().getAuthzVersion());
+        assertNotNull(principal.get().getTokenId());
+        assertTrue(principal.get().getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    void authenticate_TamperedToken_ReturnsEmpty() {
+        // Given
+        String token = jwtTokenProvider.generateToken(subject());
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        // When & Then
+        assertTrue(jwtTokenProvider.authenticate(tampered).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    void authenticate_RepeatedToken_ServedFromCache() {
+        // Given
+        String token = jwtTokenProvider.generateToken(subject());
+
+        // When
+        jwtTokenProvider.authenticate(token);
+        jwtTokenProvider.authenticate(token);
+        jwtTokenProvider.authenticate(token);
+
+        // Then
+        double hits = meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count();
+        assertEquals(2.0, hits);
+    }
+}
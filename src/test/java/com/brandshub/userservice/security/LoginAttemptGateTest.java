@@ -0,0 +1,148 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.controller.UserController;
+import com.brandshub.userservice.dto.LoginRequest;
+import com.brandshub.userservice.dto.LoginResponse;
+import com.brandshub.userservice.exception.GlobalExceptionHandler;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserBulkService;
+import com.brandshub.userservice.service.UserExportService;
+import com.brandshub.userservice.service.UserImportService;
+import com.brandshub.userservice.service.UserService;
+import com.brandshub.userservice.service.UserStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static io.restassured.RestAssured.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the per-IP login budget on a running Tomcat, where the client address
+ * of a proxied request is resolved from {@code X-Forwarded-For}.
+ *
+ * @author Brands Hub Team
+ */
+@SpringBootTest(
+        classes = LoginAttemptGateTest.WebTestConfig.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "auth.login.ip.capacity=5",
+                "auth.login.ip.refill-period=PT1M",
+                "auth.login.identifier.capacity=100"
+        })
+class LoginAttemptGateTest {
+
+    private static final int IP_CAPACITY = 5;
+
+    /**
+     * The user controller on an embedded servlet container, without the
+     * security filter chain, with a gate built from the test properties.
+     */
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({UserController.class, GlobalExceptionHandler.class, LoginAttemptGate.class})
+    static class WebTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoginAttemptGate loginAttemptGate;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private UserBulkService userBulkService;
+
+    @MockBean
+    private UserAvailabilityService userAvailabilityService;
+
+    @MockBean
+    private UserStatistics userStatistics;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1";
+        // The gate is the first thing the service does with a login
+        when(userService.login(any(LoginRequest.class), anyString())).thenAnswer(invocation -> {
+            loginAttemptGate.acquire(invocation.<LoginRequest>getArgument(0).getUsernameOrEmail(),
+                    invocation.getArgument(1));
+            return LoginResponse.builder().token("token").build();
+        });
+    }
+
+    @Test
+    void login_ManyClientsBehindOneProxy_EachGetsOwnIpBudget() {
+        // Given
+        // Every request arrives from the same proxy address, the loopback interface
+
+        // When / Then
+        for (int client = 0; client < IP_CAPACITY * 4; client++) {
+            login("proxied" + client, "203.0.113." + client).then().statusCode(200);
+        }
+    }
+
+    @Test
+    void login_ManyIdentifiersFromOneClient_ShareIpBudget() {
+        // Given
+        for (int attempt = 0; attempt < IP_CAPACITY; attempt++) {
+            login("shared" + attempt, "198.51.100.7").then().statusCode(200);
+        }
+
+        // When / Then
+        login("shared" + IP_CAPACITY, "198.51.100.7").then()
+                .statusCode(429)
+                .header("Retry-After", "60");
+    }
+
+    private static Response login(String identifier, String forwardedFor) {
+        return given()
+                .contentType(ContentType.JSON)
+                .header("X-Forwarded-For", forwardedFor)
+                .body(LoginRequest.builder().usernameOrEmail(identifier).password("password123").build())
+                .when()
+                .post("/users/login");
+    }
+}
@@ -0,0 +1,173 @@
+package com.brandshub.userservice.security;
+
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.repository.RoleBitRepository;
+import com.brandshub.userservice.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RoleRegistry and the packed role column against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest(properties = "user.roles.miss-reload-interval=PT1H")
+@Import({RoleRegistry.class, JpaAuditingConfig.class})
+class RoleRegistryTest {
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleBitRepository roleBitRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void maskOf_AssignsOneStableBitPerRole() {
+        // When
+        long mask = roleRegistry.maskOf(Set.of("EDITOR", "VIEWER"));
+
+        // Then
+        assertEquals(2, Long.bitCount(mask));
+        assertEquals(mask, roleRegistry.bit("EDITOR") | roleRegistry.bit("VIEWER"));
+        assertEquals(Set.of("EDITOR", "VIEWER"), roleRegistry.rolesOf(mask));
+        assertEquals(0L, roleRegistry.bit("NEVER_REGISTERED"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void bit_UnknownRole_ReloadsAtMostOncePerInterval() {
+        // Given
+        roleRegistry.bit("USER");
+        // Another node registers a role after this node's last reload
+        jdbcTemplate.update("INSERT INTO role_bits (bit_index, name) VALUES (?, ?)", 40, "REMOTE");
+        try {
+            // When
+            long cachedMiss = roleRegistry.bit("REMOTE");
+            long registered = roleRegistry.register("REMOTE");
+            long afterInterval = new RoleRegistry(roleBitRepository, jdbcTemplate, transactionManager, Duration.ZERO)
+                    .bit("REMOTE");
+
+            // Then
+            assertEquals(0L, cachedMiss);
+            assertEquals(1L << 40, registered);
+            assertEquals(1L << 40, afterInterval);
+        } finally {
+            jdbcTemplate.update("DELETE FROM role_bits WHERE name = ?", "REMOTE");
+        }
+    }
+
+    @Test
+    void register_MalformedName_RejectedWithoutTakingBit() {
+        // When
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class, () -> roleRegistry.register("admin "));
+
+        // Then
+        assertTrue(ex.getMessage().startsWith("Invalid role name"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM role_bits WHERE name = ?", Integer.class, "admin "));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void register_AllBitsTaken_RejectedAsInvalidRequest() {
+        // Given
+        jdbcTemplate.update("INSERT INTO role_bits (bit_index, name) VALUES (?, ?)", RoleRegistry.MAX_ROLES - 1, "LAST");
+        try {
+            // When
+            InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                    () -> roleRegistry.register("OVERFLOW"));
+
+            // Then
+            assertEquals("Cannot register role OVERFLOW: all 63 roles are in use", ex.getMessage());
+        } finally {
+            jdbcTemplate.update("DELETE FROM role_bits WHERE name = ?", "LAST");
+        }
+    }
+
+    @Test
+    void savedUser_StoresRolesInMaskAndLegacyTable() {
+        // Given
+        User auditor = save("auditoruser", Set.of("USER", "AUDITOR"));
+        User plain = save("plainuser", Set.of("USER"));
+        entityManager.clear();
+
+        // When
+        User loaded = userRepository.findById(auditor.getId()).orElseThrow();
+        List<User> auditors = userRepository.findByRoleBit(roleRegistry.bit("AUDITOR"), Long.MAX_VALUE, Limit.of(10));
+
+        // Then
+        assertEquals(Set.of("USER", "AUDITOR"), loaded.getRoles());
+        assertEquals(roleRegistry.maskOf(Set.of("USER", "AUDITOR")), loaded.getRoleMask());
+        assertEquals(List.of(auditor.getId()), auditors.stream().map(User::getId).toList());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles WHERE user_id = ?", Integer.class, auditor.getId()));
+        assertFalse(auditors.stream().anyMatch(user -> user.getId().equals(plain.getId())));
+    }
+
+    @Test
+    void removeRole_ClearsBitAndLegacyRow() {
+        // Given
+        User user = save("revokeduser", Set.of("USER", "ADMIN"));
+
+        // When
+        user.removeRole("ADMIN");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(Set.of("USER"), userRepository.findById(user.getId()).orElseThrow().getRoles());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    @Test
+    void backfillRoleMasks_CopiesLegacyRowsIntoMask() {
+        // Given
+        User legacy = save("legacyuser", Set.of("USER", "SUPPORT"));
+        jdbcTemplate.update("UPDATE users SET role_mask = 0 WHERE id = ?", legacy.getId());
+
+        // When
+        roleRegistry.backfillRoleMasks();
+
+        // Then
+        assertEquals(roleRegistry.maskOf(Set.of("USER", "SUPPORT")), jdbcTemplate.queryForObject(
+                "SELECT role_mask FROM users WHERE id = ?", Long.class, legacy.getId()));
+    }
+
+    private User save(String username, Set<String> roles) {
+        return userRepository.saveAndFlush(TestUsers.user(username)
+                .userType(User.UserType.INTERNAL)
+                .roles(new HashSet<>(roles))
+                .build());
+    }
+}
@@ -0,0 +1,124 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.service.impl.JdbcUserChangeChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JDBC user change channel against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+class JdbcUserChangeChannelTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcUserChangeChannel writer;
+    private JdbcUserChangeChannel reader;
+    private List<Collection<Long>> writerBatches;
+    private List<Collection<Long>> readerBatches;
+
+    @BeforeEach
+    void setUp() {
+        // Two channels on one database stand in for two nodes
+        writer = newChannel();
+        reader = newChannel();
+        writerBatches = new ArrayList<>();
+        readerBatches = new ArrayList<>();
+        writer.subscribe(EnumSet.allOf(UserChange.Kind.class), writerBatches::add);
+        reader.subscribe(EnumSet.allOf(UserChange.Kind.class), readerBatches::add);
+    }
+
+    @Test
+    void poll_DeliversChangesFromOtherNodesAsOneBatch() {
+        // Given
+        writer.publish(List.of(1L, 2L), UserChange.Kind.UPDATED);
+        writer.publish(List.of(2L, 3L), UserChange.Kind.UPDATED);
+
+        // When
+        int delivered = reader.poll();
+
+        // Then
+        assertEquals(3, delivered);
+        assertEquals(List.of(List.of(1L, 2L, 3L)), readerBatches);
+    }
+
+    @Test
+    void poll_SkipsOwnChanges() {
+        // Given
+        writer.publish(List.of(1L), UserChange.Kind.UPDATED);
+
+        // When
+        int delivered = writer.poll();
+
+        // Then
+        assertEquals(0, delivered);
+        assertTrue(writerBatches.isEmpty());
+    }
+
+    @Test
+    void poll_OverlappingWindow_DoesNotRepeatChanges() {
+        // Given
+        writer.publish(List.of(1L), UserChange.Kind.UPDATED);
+        reader.poll();
+        writer.publish(List.of(2L), UserChange.Kind.UPDATED);
+
+        // When
+        reader.poll();
+
+        // Then
+        assertEquals(List.of(List.of(1L), List.of(2L)), readerBatches);
+    }
+
+    @Test
+    void poll_DeliversOnlySubscribedKinds() {
+        // Given
+        List<Collection<Long>> updatedBatches = new ArrayList<>();
+        reader.subscribe(EnumSet.of(UserChange.Kind.UPDATED), updatedBatches::add);
+        writer.publish(List.of(1L), UserChange.Kind.LAST_LOGIN);
+        writer.publish(List.of(2L), UserChange.Kind.UPDATED);
+
+        // When
+        int delivered = reader.poll();
+
+        // Then
+        assertEquals(2, delivered);
+        assertEquals(List.of(List.of(1L, 2L)), readerBatches);
+        assertEquals(List.of(List.of(2L)), updatedBatches);
+    }
+
+    @Test
+    void poll_OnlyUnsubscribedKinds_SkipsListener() {
+        // Given
+        List<Collection<Long>> updatedBatches = new ArrayList<>();
+        reader.subscribe(EnumSet.of(UserChange.Kind.UPDATED), updatedBatches::add);
+        writer.publish(List.of(1L), UserChange.Kind.LAST_LOGIN);
+
+        // When
+        reader.poll();
+
+        // Then
+        assertEquals(List.of(List.of(1L)), readerBatches);
+        assertTrue(updatedBatches.isEmpty());
+    }
+
+    private JdbcUserChangeChannel newChannel() {
+        return new JdbcUserChangeChannel(jdbcTemplate, Duration.ofSeconds(30), Duration.ofHours(1),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,133 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.service.impl.LastLoginRecorderImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LastLoginRecorderImpl.
+ *
+ * @author Brands Hub Team
+ */
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    private static final LocalDateTime LOGIN = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserCache userCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LastLoginRecorderImpl lastLoginRecorder;
+    private List<Map<Long, LocalDateTime>> writtenBatches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lastLoginRecorder = new LastLoginRecorderImpl(jdbcTemplate, userCache, 500, meterRegistry);
+        writtenBatches = new ArrayList<>();
+    }
+
+    @Test
+    void flush_KeepsLatestLoginPerUser() {
+        // Given
+        when(batchUpdate()).thenAnswer(this::write);
+        lastLoginRecorder.record(1L, LOGIN.plusMinutes(5));
+        lastLoginRecorder.record(1L, LOGIN);
+        lastLoginRecorder.record(2L, LOGIN);
+
+        // When
+        int flushed = lastLoginRecorder.flush();
+
+        // Then
+        assertEquals(2, flushed);
+        assertEquals(List.of(Map.of(1L, LOGIN.plusMinutes(5), 2L, LOGIN)), writtenBatches);
+        verify(userCache).evictAll(argThat(ids -> ids.containsAll(List.of(1L, 2L))),
+                eq(UserChange.Kind.LAST_LOGIN));
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void flush_LoginRecordedDuringFlush_WrittenByNextFlush() {
+        // Given
+        when(batchUpdate()).thenAnswer(this::write);
+        lastLoginRecorder.record(1L, LOGIN);
+        // The user logs in again after the buffer was drained
+        doAnswer(invocation -> {
+            lastLoginRecorder.record(1L, LOGIN.plusMinutes(1));
+            return null;
+        }).doNothing().when(userCache).evictAll(anyCollection(), any());
+
+        // When
+        lastLoginRecorder.flush();
+        int flushedAgain = lastLoginRecorder.flush();
+
+        // Then
+        assertEquals(1, flushedAgain);
+        assertEquals(List.of(Map.of(1L, LOGIN), Map.of(1L, LOGIN.plusMinutes(1))), writtenBatches);
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void flush_WriteFails_RequeuesBatchForNextFlush() {
+        // Given
+        when(batchUpdate())
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"))
+                .thenAnswer(this::write);
+        lastLoginRecorder.record(1L, LOGIN);
+        lastLoginRecorder.record(2L, LOGIN);
+
+        // When
+        int failed = lastLoginRecorder.flush();
+        double pendingAfterFailure = pending();
+        // A login after the failure still wins over the re-queued one
+        lastLoginRecorder.record(1L, LOGIN.plusMinutes(1));
+        int retried = lastLoginRecorder.flush();
+
+        // Then
+        assertEquals(0, failed);
+        assertEquals(2, pendingAfterFailure);
+        assertEquals(2, retried);
+        assertEquals(List.of(Map.of(1L, LOGIN.plusMinutes(1), 2L, LOGIN)), writtenBatches);
+        verify(userCache, times(1)).evictAll(anyCollection(), eq(UserChange.Kind.LAST_LOGIN));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int[][] batchUpdate() {
+        return jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private int[][] write(InvocationOnMock invocation) {
+        Collection<Map.Entry<Long, LocalDateTime>> batch = invocation.getArgument(1);
+        writtenBatches.add(batch.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+        return new int[0][];
+    }
+
+    private double pending() {
+        return meterRegistry.get("user.last-login.pending").gauge().value();
+    }
+}
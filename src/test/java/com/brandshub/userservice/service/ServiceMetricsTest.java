@@ -0,0 +1,100 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.RevokedToken;
+import com.brandshub.userservice.repository.RepositoryMetricsConfig;
+import com.brandshub.userservice.repository.RevokedTokenRepository;
+import com.brandshub.userservice.service.impl.TokenRevocationServiceImpl;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAspectsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that service methods and HQL queries are timed once the metrics
+ * auto-configuration is in place.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.expiration=900000"
+})
+@ImportAutoConfiguration({
+        AopAutoConfiguration.class,
+        MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class,
+        MetricsAspectsAutoConfiguration.class
+})
+@Import({RepositoryMetricsConfig.class, TokenRevocationServiceImpl.class})
+class ServiceMetricsTest {
+
+    private static final String UNEXPIRED_JTIS_QUERY = "SELECT t.jti FROM RevokedToken t WHERE t.expiresAt > :now";
+
+    @Autowired
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceMethod_IsTimedWithClassAndMethod() {
+        // Given
+        long before = rebuildTimerCount();
+
+        // When
+        tokenRevocationService.rebuild();
+
+        // Then
+        assertEquals(before + 1, rebuildTimerCount());
+    }
+
+    @Test
+    void hqlQuery_IsTimedPerQuery() {
+        // Given
+        tokenRevocationService.rebuild();
+        revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+                .jti("token-id")
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        entityManager.clear();
+
+        // When
+        // Query meters are registered as entities are loaded
+        revokedTokenRepository.findAll();
+
+        // Then
+        FunctionTimer executions = meterRegistry.find("hibernate.query.execution.total")
+                .tag("query", UNEXPIRED_JTIS_QUERY)
+                .functionTimer();
+        assertNotNull(executions, "hibernate.query.execution.total was not registered");
+        assertTrue(executions.count() >= 1);
+    }
+
+    private long rebuildTimerCount() {
+        Timer timer = meterRegistry.find("service.invocations")
+                .tag("class", TokenRevocationServiceImpl.class.getName())
+                .tag("method", "rebuild")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserTokenRevocation;
+import com.brandshub.userservice.repository.RevokedTokenRepository;
+import com.brandshub.userservice.repository.UserTokenRevocationRepository;
+import com.brandshub.userservice.security.AuthenticatedUser;
+import com.brandshub.userservice.service.impl.TokenRevocationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the per-user revocation cutoff of TokenRevocationServiceImpl.
+ *
+ * @author Brands Hub Team
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository, userTokenRevocationRepository,
+                1000, 0.001, Duration.ofSeconds(30), Duration.ofMinutes(15).toMillis(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void revokeAllForUser_RejectsTokensIssuedEarlier() {
+        // Given
+        Instant revokedAt = revokeAll();
+
+        // When & Then
+        assertTrue(tokenRevocationService.isRevoked(principal(revokedAt.minusSeconds(1))));
+        assertTrue(tokenRevocationService.isRevoked(principal(null)));
+    }
+
+    @Test
+    void revokeAllForUser_AcceptsTokenIssuedInSameSecond() {
+        // Given
+        Instant revokedAt = revokeAll();
+
+        // When & Then
+        // JWT iat is whole seconds, so a re-login right after the revocation carries the same second
+        assertEquals(revokedAt.truncatedTo(ChronoUnit.SECONDS), revokedAt);
+        assertFalse(tokenRevocationService.isRevoked(principal(revokedAt)));
+        assertFalse(tokenRevocationService.isRevoked(principal(revokedAt.plusSeconds(1))));
+    }
+
+    private Instant revokeAll() {
+        when(userTokenRevocationRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        tokenRevocationService.revokeAllForUser(USER_ID);
+        ArgumentCaptor<UserTokenRevocation> saved = ArgumentCaptor.forClass(UserTokenRevocation.class);
+        verify(userTokenRevocationRepository).save(saved.capture());
+        when(userTokenRevocationRepository.findById(USER_ID)).thenReturn(Optional.of(saved.getValue()));
+        return saved.getValue().getRevokedBefore().atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static AuthenticatedUser principal(Instant issuedAt) {
+        return new AuthenticatedUser(USER_ID, "testuser", Set.of("USER"), User.UserStatus.ACTIVE,
+                User.UserType.EXTERNAL, 0, "token-id", issuedAt, Instant.now().plusSeconds(900));
+    }
+}
@@ -0,0 +1,200 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.AvailabilityResponse;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserChange;
+import com.brandshub.userservice.exception.RateLimitExceededException;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.service.impl.UserAvailabilityServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserAvailabilityServiceImpl.
+ *
+ * @author Brands Hub Team
+ */
+@ExtendWith(MockitoExtension.class)
+class UserAvailabilityServiceTest {
+
+    private static final String ALL_IDENTITIES_SQL = "SELECT username, email FROM users";
+    private static final String CLIENT_IP = "192.0.2.10";
+    private static final int IP_CAPACITY = 5;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserChangeChannel changeChannel;
+
+    private UserAvailabilityServiceImpl availabilityService;
+    private Consumer<Collection<Long>> changeListener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        LoginAttemptGate loginAttemptGate = new LoginAttemptGate(3, Duration.ofMinutes(1),
+                IP_CAPACITY, Duration.ofMinutes(1), 1000, Duration.ofSeconds(30), new SimpleMeterRegistry());
+        availabilityService = new UserAvailabilityServiceImpl(userRepository, namedJdbcTemplate, changeChannel,
+                loginAttemptGate, 1000, 0.01, new SimpleMeterRegistry());
+        ArgumentCaptor<Consumer<Collection<Long>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(changeChannel).subscribe(eq(EnumSet.of(UserChange.Kind.UPDATED)), listener.capture());
+        changeListener = listener.getValue();
+    }
+
+    @Test
+    void check_FilterMiss_AnswersWithoutQuery() {
+        // Given
+        scanUsers(new String[] {"taken", "taken@example.com"});
+        availabilityService.rebuild();
+
+        // When
+        AvailabilityResponse result = availabilityService.check("newuser", "new@example.com", CLIENT_IP);
+
+        // Then
+        assertTrue(result.getUsernameAvailable());
+        assertTrue(result.getEmailAvailable());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void check_FilterHit_ConfirmedAgainstDatabase() {
+        // Given
+        scanUsers(new String[] {"Taken", "Taken@Example.com"});
+        availabilityService.rebuild();
+        when(userRepository.existsByUsername("taken")).thenReturn(true);
+        when(userRepository.existsByEmail("TAKEN@example.com")).thenReturn(false);
+
+        // When
+        AvailabilityResponse result = availabilityService.check("taken", "TAKEN@example.com", CLIENT_IP);
+
+        // Then
+        assertFalse(result.getUsernameAvailable());
+        // A false positive of the filter, or a user deleted since the build
+        assertTrue(result.getEmailAvailable());
+    }
+
+    @Test
+    void check_BeforeFirstBuild_AsksDatabase() {
+        // Given
+        when(userRepository.existsByUsername("newuser")).thenReturn(false);
+
+        // When
+        AvailabilityResponse result = availabilityService.check("newuser", null, CLIENT_IP);
+
+        // Then
+        assertTrue(result.getUsernameAvailable());
+        assertNull(result.getEmailAvailable());
+        verify(userRepository).existsByUsername("newuser");
+    }
+
+    @Test
+    void recordTaken_DuringRebuild_SurvivesSwap() {
+        // Given
+        availabilityService.rebuild();
+        // A registration commits while the table is being scanned, after its row was passed
+        doAnswer(invocation -> {
+            availabilityService.recordTaken(List.of(user(2L, "racer", "racer@example.com")));
+            return null;
+        }).when(jdbcTemplate).query(eq(ALL_IDENTITIES_SQL), any(RowCallbackHandler.class));
+        availabilityService.rebuild();
+        when(userRepository.existsByUsername("racer")).thenReturn(true);
+
+        // When
+        AvailabilityResponse result = availabilityService.check("racer", null, CLIENT_IP);
+
+        // Then
+        assertFalse(result.getUsernameAvailable());
+        verify(changeChannel).publish(List.of(2L), UserChange.Kind.UPDATED);
+    }
+
+    @Test
+    void changeFromOtherNode_AddsUsersReadById() throws SQLException {
+        // Given
+        availabilityService.rebuild();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn("remote");
+        when(row.getString(2)).thenReturn("remote@example.com");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(2).processRow(row);
+            return null;
+        }).when(namedJdbcTemplate).query(anyString(), eq(Map.of("ids", List.of(7L))), any(RowCallbackHandler.class));
+        when(userRepository.existsByEmail("remote@example.com")).thenReturn(true);
+
+        // When
+        changeListener.accept(List.of(7L));
+        AvailabilityResponse result = availabilityService.check(null, "remote@example.com", CLIENT_IP);
+
+        // Then
+        assertFalse(result.getEmailAvailable());
+        verify(userRepository).existsByEmail("remote@example.com");
+    }
+
+    @Test
+    void check_ClientOverIpBudget_RejectedWithoutLookup() {
+        // Given
+        for (int attempt = 0; attempt < IP_CAPACITY; attempt++) {
+            availabilityService.check("probe" + attempt, null, CLIENT_IP);
+        }
+        clearInvocations(userRepository);
+
+        // When
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> availabilityService.check("probe" + IP_CAPACITY, null, CLIENT_IP));
+
+        // Then
+        assertEquals(60, ex.getRetryAfterSeconds());
+        verifyNoInteractions(userRepository);
+        assertDoesNotThrow(() -> availabilityService.check("probe", null, "192.0.2.11"));
+    }
+
+    private void scanUsers(String[]... identities) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String[] identity : identities) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getString(1)).thenReturn(identity[0]);
+                when(row.getString(2)).thenReturn(identity[1]);
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(ALL_IDENTITIES_SQL), any(RowCallbackHandler.class));
+    }
+
+    private static User user(Long id, String username, String email) {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserFilter;
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.repository.RevokedTokenRepository;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.repository.UserTokenRevocationRepository;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.impl.TokenRevocationServiceImpl;
+import com.brandshub.userservice.service.impl.UserBulkServiceImpl;
+import com.brandshub.userservice.service.impl.UserCacheImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for UserBulkService against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+@Import({RoleRegistry.class, JpaAuditingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserBulkServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private UserStatistics userStatistics;
+
+    private UserBulkServiceImpl userBulkService;
+    private User acmeActive;
+    private User acmeInternal;
+    private User acmeSuspended;
+    private User globex;
+
+    @BeforeEach
+    void setUp() {
+        TokenRevocationService tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository,
+                userTokenRevocationRepository, 1000, 0.01, Duration.ofSeconds(30), 900_000, new SimpleMeterRegistry());
+        // A chunk size of two makes every operation below span more than one chunk
+        userBulkService = new UserBulkServiceImpl(userRepository, roleRegistry, tokenRevocationService,
+                refreshTokenService, new UserCacheImpl(100, Duration.ofMinutes(1), Duration.ZERO,
+                mock(UserChangeChannel.class), new SimpleMeterRegistry()),
+                userStatistics, transactionManager, 2);
+        acmeActive = save("acmeactive", "Acme", User.UserType.EXTERNAL, User.UserStatus.ACTIVE);
+        acmeInternal = save("acmeinternal", "Acme", User.UserType.INTERNAL, User.UserStatus.ACTIVE);
+        acmeSuspended = save("acmesuspended", "Acme", User.UserType.INTERNAL, User.UserStatus.SUSPENDED);
+        globex = save("globexuser", "Globex", User.UserType.INTERNAL, User.UserStatus.ACTIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userTokenRevocationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void updateStatus_ChangesOnlyMatchingUsersNotAlreadyInStatus() {
+        // When
+        long updated = userBulkService.updateStatus(UserFilter.builder().companyName("Acme").build(),
+                User.UserStatus.SUSPENDED);
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(User.UserStatus.SUSPENDED, reload(acmeActive).getStatus());
+        assertEquals(User.UserStatus.SUSPENDED, reload(acmeInternal).getStatus());
+        assertEquals(User.UserStatus.ACTIVE, reload(globex).getStatus());
+        assertEquals(1, reload(acmeActive).getAuthzVersion());
+        assertEquals(0, reload(acmeSuspended).getAuthzVersion());
+        assertEquals(1, userTokenRevocationRepository.findById(acmeInternal.getId()).orElseThrow().getMinAuthzVersion());
+        assertTrue(userTokenRevocationRepository.findById(globex.getId()).isEmpty());
+        verify(refreshTokenService, atLeastOnce()).revokeAllForUsers(anyCollection());
+        verify(userStatistics).reconcile();
+    }
+
+    @Test
+    void addAndRemoveRole_UpdateMaskAndLegacyTable() {
+        // Given
+        UserFilter internal = UserFilter.builder().userType(User.UserType.INTERNAL).build();
+
+        // When
+        long granted = userBulkService.addRole(internal, "AUDITOR");
+        long grantedAgain = userBulkService.addRole(internal, "AUDITOR");
+        long revoked = userBulkService.removeRole(
+                UserFilter.builder().ids(List.of(acmeInternal.getId(), acmeActive.getId())).build(), "AUDITOR");
+
+        // Then
+        assertEquals(3, granted);
+        assertEquals(0, grantedAgain);
+        assertEquals(1, revoked);
+        assertEquals(Set.of("USER"), reload(acmeInternal).getRoles());
+        assertEquals(Set.of("USER", "AUDITOR"), reload(globex).getRoles());
+        assertEquals(Set.of("USER"), reload(acmeActive).getRoles());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_roles WHERE role = 'AUDITOR'", Integer.class));
+        assertEquals(2, reload(acmeInternal).getAuthzVersion());
+    }
+
+    @Test
+    void updateStatus_RejectsEmptyFilter() {
+        // When & Then
+        assertThrows(InvalidRequestException.class,
+                () -> userBulkService.updateStatus(new UserFilter(), User.UserStatus.SUSPENDED));
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private User save(String username, String companyName, User.UserType userType, User.UserStatus status) {
+        return userRepository.save(TestUsers.user(username)
+                .companyName(companyName)
+                .userType(userType)
+                .status(status)
+                .build());
+    }
+}
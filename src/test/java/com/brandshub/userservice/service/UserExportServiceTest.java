@@ -0,0 +1,139 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.service.impl.UserExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserExportService.
+ * 
+ * @author Brands Hub Team
+ */
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private UserExportServiceImpl userExportService;
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        userExportService = new UserExportServiceImpl(userRepository, entityManager, objectMapper);
+        first = User.builder()
+                .id(1L)
+                .username("first")
+                .email("first@example.com")
+                .firstName("Ann")
+                .lastName("Lee")
+                .companyName("Acme, \"Intl\"")
+                .userType(User.UserType.EXTERNAL)
+                .status(User.UserStatus.ACTIVE)
+                .roles(Set.of("USER", "ADMIN"))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+        second = User.builder()
+                .id(2L)
+                .username("second")
+                .email("second@example.com")
+                .firstName("Bo")
+                .lastName("Kim")
+                .userType(User.UserType.INTERNAL)
+                .status(User.UserStatus.SUSPENDED)
+                .roles(Set.of())
+                .build();
+    }
+
+    @Test
+    void exportUsers_Csv_WritesHeaderAndEscapedRows() throws Exception {
+        // Given
+        when(userRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = userExportService.exportUsers(UserExportService.Format.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,username,email"));
+        assertEquals("1,first,first@example.com,Ann,Lee,\"Acme, \"\"Intl\"\"\",,EXTERNAL,ACTIVE,ADMIN;USER,2024-01-01T12:00,,",
+                lines[1]);
+        assertEquals("2,second,second@example.com,Bo,Kim,,,INTERNAL,SUSPENDED,,,,", lines[2]);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void exportUsers_Csv_NeutralisesFormulas() throws Exception {
+        // Given
+        second.setFirstName("=HYPERLINK(\"http://example.com\")");
+        second.setLastName("@SUM(A1)");
+        second.setCompanyName("-2+3");
+        second.setPhoneNumber("+44 20 7946 0000");
+        when(userRepository.streamAllForExport()).thenReturn(Stream.of(second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        userExportService.exportUsers(UserExportService.Format.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("2,second,second@example.com,\"'=HYPERLINK(\"\"http://example.com\"\")\",'@SUM(A1),'-2+3,"
+                + "'+44 20 7946 0000,INTERNAL,SUSPENDED,,,,", lines[1]);
+    }
+
+    @Test
+    void exportUsers_Ndjson_WritesOneObjectPerLineWithoutPasswords() throws Exception {
+        // Given
+        first.setPassword("hash");
+        when(userRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        ObjectMapper reader = new ObjectMapper();
+
+        // When
+        userExportService.exportUsers(UserExportService.Format.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode row = reader.readTree(lines[0]);
+        assertEquals("first", row.get("username").asText());
+        assertFalse(row.has("password"));
+        assertEquals("second", reader.readTree(lines[1]).get("username").asText());
+        // Rows are buffered, not flushed to the response one by one
+        assertEquals(1, flushes.get());
+    }
+}
@@ -0,0 +1,191 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserImportResult;
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserSearchGram;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.impl.UserImportServiceImpl;
+import com.brandshub.userservice.service.impl.UserSearchIndexImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for UserImportService against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+@Import({UserSearchIndexImpl.class, RoleRegistry.class, JpaAuditingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private LoginAttemptGate loginAttemptGate;
+
+    @MockBean
+    private UserAvailabilityService userAvailabilityService;
+
+    @MockBean
+    private UserStatistics userStatistics;
+
+    private final PasswordEncoder passwordHasher = new BCryptPasswordEncoder(4);
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(userRepository, userSearchIndex, userAvailabilityService,
+                userStatistics, loginAttemptGate, passwordHasher, Validation.buildDefaultValidatorFactory().getValidator(),
+                Jackson2ObjectMapperBuilder.json().build(), transactionManager, new SimpleMeterRegistry(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_search_grams");
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importUsers_NdjsonImportsValidRowsAndReportsTheRest() throws Exception {
+        // Given
+        String body = String.join("\n",
+                row("importone", "one@example.com", "\"password\":\"password123\""),
+                row("importtwo", "not-an-email", "\"password\":\"password123\""),
+                "{\"username\": broken",
+                "",
+                row("importone", "other@example.com", "\"password\":\"password123\""),
+                row("importthree", "three@example.com", "\"passwordHash\":\"{bcrypt}$2a$04$abcdefghijklmnopqrstuv\""),
+                row("importfour", "four@example.com", "\"passwordHash\":\"plain\""));
+
+        // When
+        UserImportResult result = userImportService.importUsers(UserExportService.Format.NDJSON, stream(body));
+
+        // Then
+        assertEquals(6, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(2L, 3L, 5L, 7L), result.getErrors().stream().map(UserImportResult.RowError::getLine).toList());
+        assertEquals("Duplicate username in import", result.getErrors().get(2).getMessage());
+
+        User imported = userRepository.findByUsername("importone").orElseThrow();
+        assertTrue(passwordHasher.matches("password123", imported.getPassword()));
+        assertEquals(Set.of("USER"), imported.getRoles());
+        assertEquals(User.UserType.EXTERNAL, imported.getUserType());
+        assertEquals("{bcrypt}$2a$04$abcdefghijklmnopqrstuv",
+                userRepository.findByUsername("importthree").orElseThrow().getPassword());
+        assertEquals(List.of(imported.getId()), userSearchIndex.search(UserSearchGram.Field.NAME, "importone", 10));
+        verify(loginAttemptGate).recordKnown("importone", "one@example.com");
+    }
+
+    @Test
+    void importUsers_CsvRejectsUsersThatAlreadyExist() throws Exception {
+        // Given
+        userRepository.save(TestUsers.user("existing").build());
+        String body = """
+                username,email,password,firstName,lastName,companyName,userType,status
+                csvuser,csv@example.com,password123,Csv,Importone,"Acme, ""Intl\""",INTERNAL,ACTIVE
+                existing,new@example.com,password123,Csv,Clash,,EXTERNAL,ACTIVE
+                emailclash,existing@example.com,password123,Csv,Clash,,EXTERNAL,ACTIVE
+                short,row
+                """;
+
+        // When
+        UserImportResult result = userImportService.importUsers(UserExportService.Format.CSV, stream(body));
+
+        // Then
+        assertEquals(4, result.getTotal());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of("Username already exists", "Email already exists", "Expected 8 fields but found 2"),
+                result.getErrors().stream().map(UserImportResult.RowError::getMessage).toList());
+        User imported = userRepository.findByUsername("csvuser").orElseThrow();
+        assertEquals("Acme, \"Intl\"", imported.getCompanyName());
+        assertEquals(User.UserType.INTERNAL, imported.getUserType());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void importUsers_UsernameTakenConcurrently_RetriesChunkRowByRow() throws Exception {
+        // Given
+        // The clashing user registers after the existence check, while the chunk is being hashed
+        AtomicBoolean registered = new AtomicBoolean();
+        PasswordEncoder racingHasher = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (registered.compareAndSet(false, true)) {
+                    userRepository.save(TestUsers.user("racer").build());
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        UserImportServiceImpl racingImport = new UserImportServiceImpl(userRepository, userSearchIndex,
+                userAvailabilityService, userStatistics, loginAttemptGate, racingHasher,
+                Validation.buildDefaultValidatorFactory().getValidator(), Jackson2ObjectMapperBuilder.json().build(),
+                transactionManager, new SimpleMeterRegistry(), 2, 1);
+        String body = String.join("\n",
+                row("racer", "racer.import@example.com", "\"password\":\"password123\""),
+                row("bystander", "bystander@example.com", "\"password\":\"password123\""));
+
+        // When
+        UserImportResult result = racingImport.importUsers(UserExportService.Format.NDJSON, stream(body));
+
+        // Then
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(1L), result.getErrors().stream().map(UserImportResult.RowError::getLine).toList());
+        assertEquals("Username or email already exists", result.getErrors().get(0).getMessage());
+        assertEquals("racer@example.com", userRepository.findByUsername("racer").orElseThrow().getEmail());
+        User bystander = userRepository.findByUsername("bystander").orElseThrow();
+        assertEquals(List.of(bystander.getId()), userSearchIndex.search(UserSearchGram.Field.NAME, "bystander", 10));
+        assertEquals(2, userRepository.count());
+        verify(loginAttemptGate).recordKnown("bystander", "bystander@example.com");
+        verify(loginAttemptGate, never()).recordKnown("racer", "racer.import@example.com");
+    }
+
+    private static String row(String username, String email, String password) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email + "\"," + password
+                + ",\"firstName\":\"" + username + "\",\"lastName\":\"Importer\"}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserRegistrationRequest;
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.exception.DuplicateResourceException;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.JwtTokenProvider;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for registration against the unique indexes of an embedded H2
+ * database, rather than a stubbed constraint violation.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+@Import({RoleRegistry.class, JpaAuditingConfig.class})
+class UserRegistrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, mock(JwtTokenProvider.class),
+                mock(RefreshTokenService.class), mock(TokenRevocationService.class), mock(LastLoginRecorder.class),
+                mock(LoginAttemptGate.class), mock(UserSearchIndex.class), roleRegistry, mock(UserCache.class),
+                mock(UserAvailabilityService.class), mock(UserStatistics.class), new BCryptPasswordEncoder(4));
+        userRepository.saveAndFlush(TestUsers.user("taken").build());
+    }
+
+    @Test
+    void registerUser_DuplicateUsername_NamesUsername() {
+        // When & Then
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> userService.registerUser(request("taken", "other@example.com")));
+        assertEquals("Username already exists", ex.getMessage());
+    }
+
+    @Test
+    void registerUser_DuplicateEmail_NamesEmail() {
+        // When & Then
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> userService.registerUser(request("other", "taken@example.com")));
+        assertEquals("Email already exists", ex.getMessage());
+    }
+
+    private static UserRegistrationRequest request(String username, String email) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .email(email)
+                .password("password123")
+                .firstName("New")
+                .lastName("User")
+                .userType(User.UserType.EXTERNAL)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserSearchGram;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.impl.UserSearchIndexImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UserSearchIndex against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+@Import({UserSearchIndexImpl.class, RoleRegistry.class, JpaAuditingConfig.class})
+class UserSearchIndexTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchIndexImpl userSearchIndex;
+
+    private User smith;
+    private User blacksmith;
+    private User smithers;
+
+    @BeforeEach
+    void setUp() {
+        smith = save("smith", "Smith", "Jones", "Acme Corp");
+        blacksmith = save("blacksmith", "Blacksmith", "Lee", "Globex");
+        smithers = save("smithers", "José", "Smithers", "Acme");
+        userSearchIndex.rebuild();
+    }
+
+    @Test
+    void search_RanksWholeWordThenPrefixThenInfix() {
+        // When
+        List<Long> result = userSearchIndex.search(UserSearchGram.Field.NAME, "smith", 10);
+
+        // Then
+        assertEquals(List.of(smith.getId(), smithers.getId(), blacksmith.getId()), result);
+    }
+
+    @Test
+    void search_ShortTokenAndAccentsMatchAsPrefix() {
+        // When
+        List<Long> result = userSearchIndex.search(UserSearchGram.Field.NAME, "jose sm", 10);
+
+        // Then
+        assertEquals(List.of(smithers.getId()), result);
+    }
+
+    @Test
+    void search_AppliesLimitPerField() {
+        // When
+        List<Long> result = userSearchIndex.search(UserSearchGram.Field.COMPANY, "acme", 1);
+
+        // Then
+        assertEquals(1, result.size());
+        assertTrue(List.of(smith.getId(), smithers.getId()).contains(result.get(0)));
+    }
+
+    @Test
+    void indexAndRemove_KeepIndexInStepWithWrites() {
+        // Given
+        smith.setLastName("Hopper");
+        userSearchIndex.index(smith);
+        userSearchIndex.remove(blacksmith.getId());
+
+        // When & Then
+        assertEquals(List.of(smith.getId()), userSearchIndex.search(UserSearchGram.Field.NAME, "hopper", 10));
+        assertTrue(userSearchIndex.search(UserSearchGram.Field.NAME, "jones", 10).isEmpty());
+        assertFalse(userSearchIndex.search(UserSearchGram.Field.NAME, "smith", 10).contains(blacksmith.getId()));
+    }
+
+    @Test
+    void backfill_IndexesOnlyUsersMissingFromIndex() {
+        // Given
+        userSearchIndex.remove(blacksmith.getId());
+        User newcomer = save("newcomer", "Anna", "Smithson", "Initech");
+
+        // When
+        long indexed = userSearchIndex.backfill();
+
+        // Then
+        assertEquals(2, indexed);
+        assertEquals(List.of(blacksmith.getId()), userSearchIndex.search(UserSearchGram.Field.NAME, "blacksmith", 10));
+        assertEquals(List.of(newcomer.getId()), userSearchIndex.search(UserSearchGram.Field.NAME, "smithson", 10));
+    }
+
+    private User save(String username, String firstName, String lastName, String companyName) {
+        return userRepository.saveAndFlush(TestUsers.user(username)
+                .firstName(firstName)
+                .lastName(lastName)
+                .companyName(companyName)
+                .build());
+    }
+}
@@ -1,29 +1,69 @@
 package com.brandshub.userservice.service;
 
+import com.brandshub.userservice.dto.CursorPage;
 import com.brandshub.userservice.dto.LoginRequest;
 import com.brandshub.userservice.dto.LoginResponse;
+import com.brandshub.userservice.dto.RefreshTokenRequest;
+import com.brandshub.userservice.dto.UserField;
+import com.brandshub.userservice.dto.UserPatchRequest;
 import com.brandshub.userservice.dto.UserRegistrationRequest;
 import com.brandshub.userservice.dto.UserResponse;
 import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.entity.UserSearchGram;
 import com.brandshub.userservice.exception.AuthenticationException;
 import com.brandshub.userservice.exception.DuplicateResourceException;
+import com.brandshub.userservice.exception.InvalidRequestException;
+import com.brandshub.userservice.exception.PreconditionFailedException;
+import com.brandshub.userservice.exception.RateLimitExceededException;
 import com.brandshub.userservice.exception.UserNotFoundException;
 import com.brandshub.userservice.repository.UserRepository;
 import com.brandshub.userservice.security.JwtTokenProvider;
+import com.brandshub.userservice.security.LoginAttemptGate;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.security.TokenSubject;
+import com.brandshub.userservice.service.LastLoginRecorder;
+import com.brandshub.userservice.service.RefreshTokenService;
+import com.brandshub.userservice.service.TokenRevocationService;
+import com.brandshub.userservice.service.UserAvailabilityService;
+import com.brandshub.userservice.service.UserCache;
+import com.brandshub.userservice.service.UserChangeChannel;
+import com.brandshub.userservice.service.UserSearchIndex;
+import com.brandshub.userservice.service.UserStatistics;
+import com.brandshub.userservice.service.impl.UserCacheImpl;
 import com.brandshub.userservice.service.impl.UserServiceImpl;
+import com.brandshub.userservice.util.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -45,9 +85,45 @@ class UserServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
+    @Mock
+    private UserStatistics userStatistics;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    @Spy
+    private LoginAttemptGate loginAttemptGate = new LoginAttemptGate(3, Duration.ofMinutes(1), 50, Duration.ofSeconds(1),
+            1000, Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+    @Spy
+    private UserCache userCache = new UserCacheImpl(100, Duration.ofMinutes(1), Duration.ZERO,
+            mock(UserChangeChannel.class), new SimpleMeterRegistry());
+
     @InjectMocks
     private UserServiceImpl userService;
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     private User testUser;
     private UserRegistrationRequest registrationRequest;
     private LoginRequest loginRequest;
@@ -93,88 +169,231 @@ class UserServiceTest {
     @Test
     void registerUser_Success() {
         // Given
-        when(userRepository.existsByUsername(registrationRequest.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(registrationRequest.getEmail())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // When
         UserResponse result = userService.registerUser(registrationRequest);
 
         // Then
         assertNotNull(result);
-        assertEquals(registrationRequest.getUsername(), result.getUsername());
-        assertEquals(registrationRequest.getEmail(), result.getEmail());
-        assertEquals(registrationRequest.getFirstName(), result.getFirstName());
-        assertEquals(registrationRequest.getLastName(), result.getLastName());
-        verify(userRepository).existsByUsername(registrationRequest.getUsername());
-        verify(userRepository).existsByEmail(registrationRequest.getEmail());
-        verify(userRepository).save(any(User.class));
+        assertEquals(testUser.getUsername(), result.getUsername());
+        assertEquals(testUser.getEmail(), result.getEmail());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userAvailabilityService).recordTaken(List.of(testUser));
     }
 
     @Test
     void registerUser_UsernameAlreadyExists_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(registrationRequest.getUsername())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("IDX_USER_USERNAME"));
 
         // When & Then
-        assertThrows(DuplicateResourceException.class, () -> userService.registerUser(registrationRequest));
-        verify(userRepository).existsByUsername(registrationRequest.getUsername());
-        verify(userRepository, never()).save(any(User.class));
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> userService.registerUser(registrationRequest));
+        assertEquals("Username already exists", ex.getMessage());
+        verifyNoInteractions(userSearchIndex, userAvailabilityService);
     }
 
     @Test
     void registerUser_EmailAlreadyExists_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(registrationRequest.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(registrationRequest.getEmail())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("idx_user_email"));
 
         // When & Then
-        assertThrows(DuplicateResourceException.class, () -> userService.registerUser(registrationRequest));
-        verify(userRepository).existsByUsername(registrationRequest.getUsername());
-        verify(userRepository).existsByEmail(registrationRequest.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> userService.registerUser(registrationRequest));
+        assertEquals("Email already exists", ex.getMessage());
+    }
+
+    @Test
+    void registerUser_UnnamedConstraint_ThrowsGenericDuplicate() {
+        // Given
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(null));
+
+        // When & Then
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> userService.registerUser(registrationRequest));
+        assertEquals("Username or email already exists", ex.getMessage());
     }
 
     @Test
     void login_Success() {
         // Given
-        when(userRepository.findByUsername(loginRequest.getUsernameOrEmail())).thenReturn(Optional.of(testUser));
-        when(jwtTokenProvider.generateToken(testUser.getUsername())).thenReturn("jwt-token");
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail()))
+                .thenReturn(credentialsRows(testUser));
+        when(jwtTokenProvider.generateToken(TokenSubject.from(testUser))).thenReturn("jwt-token");
+        when(refreshTokenService.issue(testUser.getId())).thenReturn("refresh-token");
 
         // When
-        LoginResponse result = userService.login(loginRequest);
+        LoginResponse result = userService.login(loginRequest, CLIENT_IP);
 
         // Then
         assertNotNull(result);
         assertEquals("jwt-token", result.getToken());
+        assertEquals("refresh-token", result.getRefreshToken());
         assertEquals("Bearer", result.getTokenType());
         assertNotNull(result.getUser());
         assertEquals(testUser.getUsername(), result.getUser().getUsername());
-        verify(userRepository).findByUsername(loginRequest.getUsernameOrEmail());
-        verify(jwtTokenProvider).generateToken(testUser.getUsername());
-        verify(userRepository).save(testUser);
+        assertEquals(testUser.getRoles(), result.getUser().getRoles());
+        assertEquals(testUser.getEmail(), result.getUser().getEmail());
+        assertEquals(testUser.getFullName(), result.getUser().getFullName());
+        assertEquals(testUser.getCompanyName(), result.getUser().getCompanyName());
+        assertEquals(testUser.getPhoneNumber(), result.getUser().getPhoneNumber());
+        assertEquals(testUser.getCreatedAt(), result.getUser().getCreatedAt());
+        assertNotNull(result.getUser().getLastLogin());
+        verify(userRepository).findLoginCredentials(loginRequest.getUsernameOrEmail());
+        verify(jwtTokenProvider).generateToken(TokenSubject.from(testUser));
+        verify(lastLoginRecorder).record(eq(testUser.getId()), any(LocalDateTime.class));
+        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void login_IdentifierMatchesUsernameAndOtherUsersEmail_PrefersUsername() {
+        // Given
+        User other = User.builder()
+                .id(2L)
+                .username("someone")
+                .email("testuser")
+                .password(testUser.getPassword())
+                .status(User.UserStatus.ACTIVE)
+                .userType(User.UserType.INTERNAL)
+                .roles(new HashSet<>(List.of("ADMIN")))
+                .build();
+        List<UserRepository.LoginCredentialsRow> rows = new ArrayList<>(credentialsRows(other));
+        rows.addAll(credentialsRows(testUser));
+        when(userRepository.findLoginCredentials("testuser")).thenReturn(rows);
+
+        // When
+        LoginResponse result = userService.login(loginRequest, CLIENT_IP);
+
+        // Then
+        assertEquals(testUser.getId(), result.getUser().getId());
+        assertEquals(testUser.getRoles(), result.getUser().getRoles());
+    }
+
+    @Test
+    void login_OutdatedHash_RehashesPassword() {
+        // Given
+        String oldHash = testUser.getPassword();
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail()))
+                .thenReturn(credentialsRows(testUser));
+        doReturn(true).when(passwordEncoder).upgradeEncoding(oldHash);
+        when(userRepository.updatePassword(eq(testUser.getId()), eq(oldHash), anyString())).thenReturn(1);
+
+        // When
+        userService.login(loginRequest, CLIENT_IP);
+
+        // Then
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(eq(testUser.getId()), eq(oldHash), newHash.capture());
+        assertNotEquals(oldHash, newHash.getValue());
+        assertTrue(passwordEncoder.matches(loginRequest.getPassword(), newHash.getValue()));
+    }
+
+    @Test
+    void login_OutdatedHashChangedConcurrently_LoginStillSucceeds() {
+        // Given
+        String oldHash = testUser.getPassword();
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail()))
+                .thenReturn(credentialsRows(testUser));
+        doReturn(true).when(passwordEncoder).upgradeEncoding(oldHash);
+        // A password change committed between reading the hash and the rehash
+        when(userRepository.updatePassword(eq(testUser.getId()), eq(oldHash), anyString())).thenReturn(0);
+
+        // When
+        LoginResponse result = userService.login(loginRequest, CLIENT_IP);
+
+        // Then
+        assertEquals(testUser.getId(), result.getUser().getId());
+        verify(userRepository).updatePassword(eq(testUser.getId()), eq(oldHash), anyString());
+    }
+
+    @Test
+    void refreshToken_Success_DoesNotTouchPasswordPath() {
+        // Given
+        TokenSubject subject = TokenSubject.from(testUser);
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation("new-refresh-token", subject));
+        when(jwtTokenProvider.generateToken(subject)).thenReturn("jwt-token");
+
+        // When
+        LoginResponse result = userService.refreshToken(new RefreshTokenRequest("old-refresh-token"));
+
+        // Then
+        assertEquals("jwt-token", result.getToken());
+        assertEquals("new-refresh-token", result.getRefreshToken());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void login_UserNotFound_ThrowsException() {
         // Given
-        when(userRepository.findByUsername(loginRequest.getUsernameOrEmail())).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(loginRequest.getUsernameOrEmail())).thenReturn(Optional.empty());
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail())).thenReturn(List.of());
 
         // When & Then
-        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest));
-        verify(userRepository).findByUsername(loginRequest.getUsernameOrEmail());
-        verify(userRepository).findByEmail(loginRequest.getUsernameOrEmail());
+        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest, CLIENT_IP));
+        verify(userRepository).findLoginCredentials(loginRequest.getUsernameOrEmail());
+        verifyNoInteractions(jwtTokenProvider);
     }
 
     @Test
     void login_InvalidPassword_ThrowsException() {
         // Given
-        when(userRepository.findByUsername(loginRequest.getUsernameOrEmail())).thenReturn(Optional.of(testUser));
+        loginRequest.setPassword("wrongpassword");
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail()))
+                .thenReturn(credentialsRows(testUser));
+
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest, CLIENT_IP));
+        verify(userRepository).findLoginCredentials(loginRequest.getUsernameOrEmail());
+        verifyNoInteractions(lastLoginRecorder);
+    }
+
+    @Test
+    void login_InactiveUser_RejectedWithoutHashing() {
+        // Given
+        testUser.setStatus(User.UserStatus.SUSPENDED);
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail()))
+                .thenReturn(credentialsRows(testUser));
+
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest, CLIENT_IP));
+        verify(passwordEncoder, never()).matches(any(), any());
+        verifyNoInteractions(jwtTokenProvider);
+    }
+
+    @Test
+    void login_UnknownIdentifierRepeated_SkipsLookup() {
+        // Given
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail())).thenReturn(List.of());
+
+        // When
+        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest, CLIENT_IP));
+        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest, CLIENT_IP));
+
+        // Then
+        verify(userRepository, times(1)).findLoginCredentials(loginRequest.getUsernameOrEmail());
+    }
+
+    @Test
+    void login_TooManyAttemptsForIdentifier_ThrowsRateLimitExceeded() {
+        // Given
+        loginRequest.setPassword("wrongpassword");
+        when(userRepository.findLoginCredentials(loginRequest.getUsernameOrEmail()))
+                .thenReturn(credentialsRows(testUser));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AuthenticationException.class, () -> userService.login(loginRequest, CLIENT_IP));
+        }
 
         // When & Then
-        assertThrows(AuthenticationException.class, () -> userService.login(loginRequest));
-        verify(userRepository).findByUsername(loginRequest.getUsernameOrEmail());
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> userService.login(loginRequest, "198.51.100.1"));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        verify(passwordEncoder, times(3)).matches(any(), any());
     }
 
     @Test
@@ -202,27 +421,155 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
     }
 
+    @Test
+    void getUserById_Repeated_ServedFromCache() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When
+        userService.getUserById(1L);
+        UserResponse result = userService.getUserById(1L);
+
+        // Then
+        assertEquals(testUser.getUsername(), result.getUsername());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getUserByUsername_AfterLoadById_ResolvesToCachedUser() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        userService.getUserById(1L);
+
+        // When
+        UserResponse byUsername = userService.getUserByUsername("testuser");
+        UserResponse byEmail = userService.getUserByEmail("test@example.com");
+
+        // Then
+        assertEquals(1L, byUsername.getId());
+        assertEquals(1L, byEmail.getId());
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void updateUserStatus_EvictsCachedUser() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        userService.getUserById(1L);
+
+        // When
+        userService.updateUserStatus(1L, User.UserStatus.SUSPENDED);
+        UserResponse result = userService.getUserById(1L);
+
+        // Then
+        assertEquals(User.UserStatus.SUSPENDED, result.getStatus());
+        verify(userCache).evict(1L);
+    }
+
     @Test
     void getAllUsers_Success() {
         // Given
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+        Window<User> window = Window.from(List.of(testUser),
+                index -> ScrollPosition.forward(Map.of("id", testUser.getId())), true);
+        when(userRepository.findAllBy(ScrollPosition.keyset(), KeysetCursor.NEWEST_FIRST, Limit.of(1)))
+                .thenReturn(window);
 
         // When
-        List<UserResponse> result = userService.getAllUsers();
+        CursorPage<UserResponse> result = userService.getAllUsers(null, 1, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testUser.getUsername(), result.get(0).getUsername());
-        verify(userRepository).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(testUser.getUsername(), result.getItems().get(0).getUsername());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAllUsers_WithCursor_ContinuesAfterLastIdAndCapsPageSize() {
+        // Given
+        String cursor = KeysetCursor.next(Window.from(List.of(testUser),
+                index -> ScrollPosition.forward(Map.of("id", 42L)), true));
+        when(userRepository.findAllBy(ScrollPosition.forward(Map.of("id", 42L)), KeysetCursor.NEWEST_FIRST,
+                Limit.of(KeysetCursor.MAX_PAGE_SIZE))).thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        // When
+        CursorPage<UserResponse> result = userService.getAllUsers(cursor, 10_000, null);
+
+        // Then
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchUsersByName_KeepsIndexRankAndDropsFalsePositives() {
+        // Given
+        User falsePositive = User.builder().id(2L).username("other").firstName("Tes").lastName("Test")
+                .roles(new HashSet<>()).build();
+        User prefixMatch = User.builder().id(3L).username("tester").firstName("Tester").lastName("User")
+                .roles(new HashSet<>()).build();
+        when(userSearchIndex.search(UserSearchGram.Field.NAME, "test user", 20)).thenReturn(List.of(1L, 2L, 3L));
+        when(userRepository.findFieldsByIdIn(EnumSet.of(UserField.FIRST_NAME, UserField.LAST_NAME), List.of(1L, 2L, 3L)))
+                .thenReturn(Stream.of(prefixMatch, falsePositive, testUser).map(UserResponse::from).toList());
+        when(userRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(prefixMatch, testUser));
+
+        // When
+        List<UserResponse> result = userService.searchUsersByName("test user", 10, null);
+
+        // Then
+        assertEquals(List.of(testUser.getUsername(), "tester"),
+                result.stream().map(UserResponse::getUsername).toList());
+    }
+
+    @Test
+    void searchUsersByCompany_NoCandidates_SkipsUserLookup() {
+        // Given
+        when(userSearchIndex.search(eq(UserSearchGram.Field.COMPANY), eq("acme"), anyInt())).thenReturn(List.of());
+
+        // When
+        List<UserResponse> result = userService.searchUsersByCompany("acme", 10, null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getAllUsers_WithFields_ReadsProjectionInsteadOfEntities() {
+        // Given
+        Set<UserField> fields = UserField.parse("username,companyName");
+        UserResponse row = UserResponse.builder().id(1L).username("testuser").companyName("Test Company").build();
+        when(userRepository.findFieldsBy(fields, ScrollPosition.keyset(), Limit.of(50)))
+                .thenReturn(Window.from(List.of(row), index -> ScrollPosition.forward(Map.of("id", 1L))));
+
+        // When
+        CursorPage<UserResponse> result = userService.getAllUsers(null, 50, fields);
+
+        // Then
+        assertEquals(List.of(row), result.getItems());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void getAllUsers_UnknownField_ThrowsInvalidRequest() {
+        // When & Then
+        assertThrows(InvalidRequestException.class, () -> UserField.parse("username,password"));
+    }
+
+    @Test
+    void getAllUsers_MalformedCursor_ThrowsInvalidRequest() {
+        // When & Then
+        assertThrows(InvalidRequestException.class, () -> userService.getAllUsers("not-a-cursor", 10, null));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void updateUser_Success() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // When
         UserResponse result = userService.updateUser(1L, registrationRequest);
@@ -230,7 +577,23 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userAvailabilityService).recordTaken(List.of(testUser));
+    }
+
+    @Test
+    void updateUser_EmailUnchanged_DoesNotRecordTaken() {
+        // Given
+        registrationRequest.setEmail(testUser.getEmail());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        // When
+        userService.updateUser(1L, registrationRequest);
+
+        // Then
+        verify(userRepository).saveAndFlush(testUser);
+        verify(userAvailabilityService, never()).recordTaken(any());
     }
 
     @Test
@@ -244,28 +607,108 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void patchUser_AppliesOnlyPresentFields() {
+        // Given
+        testUser.setVersion(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(testUser)).thenReturn(testUser);
+        UserPatchRequest patch = UserPatchRequest.builder()
+                .firstName(Optional.of("Patched"))
+                .phoneNumber(Optional.empty())
+                .build();
+
+        // When
+        UserResponse result = userService.patchUser(1L, patch, 3L);
+
+        // Then
+        assertEquals("Patched", result.getFirstName());
+        assertNull(result.getPhoneNumber());
+        assertEquals("User", result.getLastName());
+        assertEquals("test@example.com", result.getEmail());
+        verify(userSearchIndex).index(testUser);
+        verify(userAvailabilityService, never()).recordTaken(any());
+    }
+
+    @Test
+    void patchUser_StaleVersion_ThrowsPreconditionFailed() {
+        // Given
+        testUser.setVersion(4L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        UserPatchRequest patch = UserPatchRequest.builder().firstName(Optional.of("Patched")).build();
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> userService.patchUser(1L, patch, 3L));
+        assertEquals("Test", testUser.getFirstName());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void patchUser_RemovingRequiredField_ThrowsInvalidRequest() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        UserPatchRequest patch = UserPatchRequest.builder().lastName(Optional.empty()).build();
+
+        // When & Then
+        assertThrows(InvalidRequestException.class, () -> userService.patchUser(1L, patch, null));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
     @Test
     void deleteUser_Success() {
         // Given
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         // When
         userService.deleteUser(1L);
 
         // Then
-        verify(userRepository).existsById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).delete(testUser);
+        verify(userStatistics).recordRemoved(testUser);
     }
 
     @Test
-    void deleteUser_UserNotFound_ThrowsException() {
+    void revokeTokens_UserNotFound_ThrowsException() {
+        // Given
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> userService.revokeTokens(1L));
+        verify(tokenRevocationService, never()).revokeAllForUser(anyLong());
+        verify(refreshTokenService, never()).revokeAllForUser(anyLong());
+    }
+
+    @Test
+    void updateLastLogin_UserNotFound_ThrowsException() {
         // Given
         when(userRepository.existsById(1L)).thenReturn(false);
 
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> userService.updateLastLogin(1L));
+        verify(lastLoginRecorder, never()).record(anyLong(), any());
+    }
+
+    @Test
+    void statusAndRoleUpdates_UserNotFound_ThrowsException() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> userService.updateUserStatus(1L, User.UserStatus.INACTIVE));
+        assertThrows(UserNotFoundException.class, () -> userService.addRoleToUser(1L, "ADMIN"));
+        assertThrows(UserNotFoundException.class, () -> userService.removeRoleFromUser(1L, "USER"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void deleteUser_UserNotFound_ThrowsException() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
         // When & Then
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser(1L));
-        verify(userRepository).existsById(1L);
-        verify(userRepository, never()).deleteById(any());
+        verify(userRepository, never()).delete(any(User.class));
+        verify(userStatistics, never()).recordRemoved(any());
     }
 
     @Test
@@ -281,6 +724,8 @@ class UserServiceTest {
         assertNotNull(result);
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
+        verify(tokenRevocationService).requireAuthzVersion(1L, 1);
+        verify(refreshTokenService).revokeAllForUser(1L);
     }
 
     @Test
@@ -294,8 +739,10 @@ class UserServiceTest {
 
         // Then
         assertNotNull(result);
+        assertEquals(1, testUser.getAuthzVersion());
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
+        verify(tokenRevocationService).requireAuthzVersion(1L, 1);
     }
 
     @Test
@@ -312,4 +759,58 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void addRoleToUser_RoleAlreadyHeld_KeepsTokensValid() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // When
+        userService.addRoleToUser(1L, "USER");
+
+        // Then
+        assertEquals(0, testUser.getAuthzVersion());
+        verify(roleRegistry).register("USER");
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void getUsersByRole_UnregisteredRole_SkipsQuery() {
+        // Given
+        when(roleRegistry.bit("AUDITOR")).thenReturn(0L);
+
+        // When
+        CursorPage<UserResponse> result = userService.getUsersByRole("AUDITOR", null, 50, null);
+
+        // Then
+        assertTrue(result.getItems().isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        SQLException cause = new SQLException("Unique index or primary key violation", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, constraintName));
+    }
+
+    private static List<UserRepository.LoginCredentialsRow> credentialsRows(User user) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", user.getId());
+        row.put("username", user.getUsername());
+        row.put("password", user.getPassword());
+        row.put("status", user.getStatus());
+        row.put("userType", user.getUserType());
+        row.put("authzVersion", user.getAuthzVersion());
+        row.put("roles", user.getRoles());
+        row.put("email", user.getEmail());
+        row.put("firstName", user.getFirstName());
+        row.put("lastName", user.getLastName());
+        row.put("companyName", user.getCompanyName());
+        row.put("phoneNumber", user.getPhoneNumber());
+        row.put("createdAt", user.getCreatedAt());
+        row.put("updatedAt", user.getUpdatedAt());
+        row.put("version", user.getVersion());
+        return List.of(PROJECTIONS.createProjection(UserRepository.LoginCredentialsRow.class, row));
+    }
+}
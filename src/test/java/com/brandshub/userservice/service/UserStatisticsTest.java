@@ -0,0 +1,137 @@
+package com.brandshub.userservice.service;
+
+import com.brandshub.userservice.dto.UserStatsResponse;
+import com.brandshub.userservice.entity.TestUsers;
+import com.brandshub.userservice.entity.User;
+import com.brandshub.userservice.repository.JpaAuditingConfig;
+import com.brandshub.userservice.repository.UserRepository;
+import com.brandshub.userservice.security.RoleRegistry;
+import com.brandshub.userservice.service.impl.UserStatisticsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for UserStatistics against an embedded H2 database.
+ *
+ * @author Brands Hub Team
+ */
+@DataJpaTest
+@Import({RoleRegistry.class, JpaAuditingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserStatisticsTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserStatisticsImpl userStatistics;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        userStatistics = new UserStatisticsImpl(jdbcTemplate, roleRegistry, mock(UserChangeChannel.class),
+                Duration.ofMinutes(10), new SimpleMeterRegistry());
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void reconcile_CountsUsersByTypeStatusAndRole() {
+        // Given
+        save("statsone", User.UserType.INTERNAL, User.UserStatus.ACTIVE, Set.of("USER", "ADMIN"));
+        save("statstwo", User.UserType.INTERNAL, User.UserStatus.ACTIVE, Set.of("USER"));
+        save("statsthree", User.UserType.EXTERNAL, User.UserStatus.SUSPENDED, Set.of("USER"));
+
+        // When
+        userStatistics.reconcile();
+        UserStatsResponse stats = userStatistics.getStats();
+
+        // Then
+        assertEquals(3, stats.getTotal());
+        assertEquals(Map.of(User.UserType.INTERNAL, 2L, User.UserType.EXTERNAL, 1L), stats.getByType());
+        assertEquals(Map.of(User.UserStatus.ACTIVE, 2L, User.UserStatus.SUSPENDED, 1L), stats.getByStatus());
+        assertEquals(Map.of("USER", 3L, "ADMIN", 1L), stats.getByRole());
+        UserStatsResponse.Segment internalActive = stats.getSegments().get(0);
+        assertEquals(User.UserType.INTERNAL, internalActive.getUserType());
+        assertEquals(2, internalActive.getUsers());
+        assertEquals(Map.of("USER", 2L, "ADMIN", 1L), internalActive.getRoles());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void recordChange_AppliedOnCommitOnly() {
+        // Given
+        User user = save("statsuser", User.UserType.EXTERNAL, User.UserStatus.ACTIVE, Set.of("USER"));
+        userStatistics.reconcile();
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            userStatistics.recordRemoved(user);
+            user.setStatus(User.UserStatus.SUSPENDED);
+            userStatistics.recordAdded(user);
+            assertEquals(Map.of(User.UserStatus.ACTIVE, 1L), userStatistics.getStats().getByStatus());
+        });
+        transaction.executeWithoutResult(status -> {
+            userStatistics.recordRemoved(user);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        UserStatsResponse stats = userStatistics.getStats();
+        assertEquals(1, stats.getTotal());
+        assertEquals(Map.of(User.UserStatus.SUSPENDED, 1L), stats.getByStatus());
+        assertEquals(Map.of("USER", 1L), stats.getByRole());
+    }
+
+    @Test
+    void reconcile_CorrectsCountsMissedByWritesThatBypassedTheService() {
+        // Given
+        userStatistics.reconcile();
+        save("statsbypass", User.UserType.EXTERNAL, User.UserStatus.ACTIVE, Set.of("USER"));
+        assertEquals(0, userStatistics.getStats().getTotal());
+
+        // When
+        userStatistics.reconcile();
+
+        // Then
+        assertEquals(1, userStatistics.getStats().getTotal());
+    }
+
+    private User save(String username, User.UserType userType, User.UserStatus status, Set<String> roles) {
+        return userRepository.save(TestUsers.user(username)
+                .userType(userType)
+                .status(status)
+                .roles(new HashSet<>(roles))
+                .build());
+    }
+}
@@ -0,0 +1,63 @@
+package com.brandshub.userservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+class BloomFilterTest {
+
+    @Test
+    void mightContain_AddedValues_NeverFalseNegative() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("value-" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("value-" + i));
+        }
+    }
+
+    @Test
+    void mightContain_AbsentValues_FalsePositiveRateNearTarget() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("value-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives / 100_000.0 < 0.02, "observed rate " + falsePositives / 100_000.0);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+        assertEquals(10_000, filter.approximateElementCount(), 500);
+    }
+
+    @Test
+    void mightContain_EmptyFilter_ReturnsFalse() {
+        // Given
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        // When & Then
+        assertFalse(filter.mightContain("anything"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+}
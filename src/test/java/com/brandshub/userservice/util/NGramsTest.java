@@ -0,0 +1,61 @@
+package com.brandshub.userservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NGrams.
+ *
+ * @author Brands Hub Team
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+class NGramsTest {
+
+    @Test
+    void tokens_StripsDiacriticsAndPunctuation() {
+        // When
+        Set<String> tokens = NGrams.tokens("José  O'Brien-Smith");
+
+        // Then
+        assertEquals(List.of("jose", "o", "brien", "smith"), List.copyOf(tokens));
+    }
+
+    @Test
+    void query_LongToken_RequiresInteriorGramsAndBoostsBoundaries() {
+        // When
+        NGrams.Query query = NGrams.query("Smith");
+
+        // Then
+        assertEquals(Set.of("smi", "mit", "ith"), query.required());
+        assertEquals(Set.of("  s", " sm", "th "), query.boost());
+        assertTrue(NGrams.indexGrams("Smith").containsAll(query.required()));
+        assertTrue(NGrams.indexGrams("Blacksmith").containsAll(query.required()));
+    }
+
+    @Test
+    void query_ShortToken_MatchesOnlyAsPrefix() {
+        // Given
+        NGrams.Query query = NGrams.query("jo");
+
+        // Then
+        assertEquals(Set.of("  j", " jo"), query.required());
+        assertTrue(NGrams.matches(query, "Jones", null));
+        assertFalse(NGrams.matches(query, "Major"));
+    }
+
+    @Test
+    void matches_EveryQueryTokenMustOccur() {
+        // Given
+        NGrams.Query query = NGrams.query("ann lee");
+
+        // Then
+        assertTrue(NGrams.matches(query, "Anna", "Leeds"));
+        assertFalse(NGrams.matches(query, "Anna", "Smith"));
+        assertTrue(NGrams.query("  ").isEmpty());
+    }
+}